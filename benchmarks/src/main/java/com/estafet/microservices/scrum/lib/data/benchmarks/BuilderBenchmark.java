@@ -0,0 +1,104 @@
+package com.estafet.microservices.scrum.lib.data.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.estafet.microservices.scrum.lib.data.fake.FakeScrumServer;
+import com.estafet.microservices.scrum.lib.data.project.Project;
+import com.estafet.microservices.scrum.lib.data.project.ProjectBuilder;
+import com.estafet.microservices.scrum.lib.data.readiness.Readiness;
+import com.estafet.microservices.scrum.lib.data.readiness.ReadinessPolicy;
+import com.estafet.microservices.scrum.lib.data.story.Story;
+import com.estafet.microservices.scrum.lib.data.story.StoryBuilder;
+import com.estafet.microservices.scrum.lib.data.task.Task;
+import com.estafet.microservices.scrum.lib.data.task.TaskBuilder;
+
+/**
+ * Runs the builders end to end, including HTTP and readiness waits, against
+ * an in-process {@link FakeScrumServer}. The fake is reset every iteration
+ * so its state does not grow across the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuilderBenchmark {
+
+	@Param({ "0", "5" })
+	private long latencyMillis;
+
+	@Param({ "0" })
+	private long consistencyLagMillis;
+
+	private FakeScrumServer server;
+
+	private Project project;
+
+	private Story story;
+
+	@Setup(Level.Trial)
+	public void start() {
+		Readiness.setDefaultPolicy(new ReadinessPolicy().setInitialDelayMillis(1).setMaxDelayMillis(50));
+		server = new FakeScrumServer()
+				.setLatencyMillis(latencyMillis)
+				.setConsistencyLagMillis(consistencyLagMillis)
+				.start();
+	}
+
+	@Setup(Level.Iteration)
+	public void reset() {
+		server.reset();
+		project = new ProjectBuilder().setTitle("Benchmark").setNoSprints(5).setSprintLengthDays(10).build();
+		story = new StoryBuilder().setProjectId(project.getId()).setStorypoints(3).build();
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		server.stop();
+		Readiness.setDefaultPolicy(new ReadinessPolicy());
+	}
+
+	@Benchmark
+	public Project buildProject() {
+		return new ProjectBuilder().setTitle("Project").setNoSprints(5).setSprintLengthDays(10).build();
+	}
+
+	@Benchmark
+	public Story buildStory() {
+		return new StoryBuilder().setProjectId(project.getId()).setStorypoints(3).build();
+	}
+
+	@Benchmark
+	@Threads(16)
+	public Story buildStoryConcurrently() {
+		return new StoryBuilder().setProjectId(project.getId()).setStorypoints(3).build();
+	}
+
+	@Benchmark
+	public Task buildTask() {
+		return new TaskBuilder().setStoryId(story.getId()).setTitle("Task#1").setInitialHours(8).build();
+	}
+
+	@Benchmark
+	public List<Story> projectStories() {
+		return Story.getProjectStories(project.getId());
+	}
+
+}
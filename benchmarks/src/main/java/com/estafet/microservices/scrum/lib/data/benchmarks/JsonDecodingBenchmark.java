@@ -0,0 +1,135 @@
+package com.estafet.microservices.scrum.lib.data.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.estafet.microservices.scrum.lib.data.project.Project;
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+import com.estafet.microservices.scrum.lib.data.sprint.SprintBurndown;
+import com.estafet.microservices.scrum.lib.data.sprint.SprintBurndownSeries;
+import com.estafet.microservices.scrum.lib.data.story.Story;
+import com.estafet.microservices.scrum.lib.data.task.Task;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures typed list decoding through the shared mapper for each of the
+ * entity lists the library downloads, and streaming sprint burndowns into
+ * {@link SprintBurndownSeries} columns instead of day objects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonDecodingBenchmark {
+
+	private static final ObjectMapper MAPPER = RestClient.mapper();
+
+	private static final JavaType PROJECT_LIST = listOf(Project.class);
+
+	private static final JavaType STORY_LIST = listOf(Story.class);
+
+	private static final JavaType TASK_LIST = listOf(Task.class);
+
+	private static final JavaType SPRINT_BURNDOWN_LIST = listOf(SprintBurndown.class);
+
+	@Param({ "10", "100", "1000" })
+	private int size;
+
+	private byte[] projects;
+
+	private byte[] stories;
+
+	private byte[] tasks;
+
+	private byte[] sprintBurndowns;
+
+	@Setup
+	public void setup() throws IOException {
+		List<Map<String, Object>> projectList = new ArrayList<Map<String, Object>>();
+		List<Map<String, Object>> storyList = new ArrayList<Map<String, Object>>();
+		List<Map<String, Object>> taskList = new ArrayList<Map<String, Object>>();
+		List<Map<String, Object>> sprintBurndownList = new ArrayList<Map<String, Object>>();
+		for (int i = 1; i <= size; i++) {
+			projectList.add(object("id", i, "title", "Project #" + i, "noSprints", 5, "sprintLengthDays", 10));
+			storyList.add(object("id", i, "title", "Story #" + i, "description", "Description of story #" + i,
+					"storypoints", i % 13, "status", "Not Started", "sprintId", i % 10, "projectId", 1));
+			taskList.add(object("id", i, "title", "Task #" + i, "description", "Description of task #" + i,
+					"initialHours", 8, "remainingHours", i % 8, "status", "In Progress", "remainingUpdated", "2017-10-01 00:00:00"));
+			List<Map<String, Object>> days = new ArrayList<Map<String, Object>>();
+			for (int day = 1; day <= 10; day++) {
+				days.add(object("dayNo", day, "hoursTotal", 100 - day * 10, "idealHours", 100f - day * 10f, "sprintDay", "2017-10-" + day));
+			}
+			sprintBurndownList.add(object("id", i, "number", i, "sprintDays", days));
+		}
+		projects = MAPPER.writeValueAsBytes(projectList);
+		stories = MAPPER.writeValueAsBytes(storyList);
+		tasks = MAPPER.writeValueAsBytes(taskList);
+		sprintBurndowns = MAPPER.writeValueAsBytes(sprintBurndownList);
+	}
+
+	@Benchmark
+	public List<Project> projects() throws IOException {
+		return MAPPER.readValue(projects, PROJECT_LIST);
+	}
+
+	@Benchmark
+	public List<Story> stories() throws IOException {
+		return MAPPER.readValue(stories, STORY_LIST);
+	}
+
+	@Benchmark
+	public List<Task> tasks() throws IOException {
+		return MAPPER.readValue(tasks, TASK_LIST);
+	}
+
+	@Benchmark
+	public List<SprintBurndown> sprintBurndowns() throws IOException {
+		return MAPPER.readValue(sprintBurndowns, SPRINT_BURNDOWN_LIST);
+	}
+
+	@Benchmark
+	public List<SprintBurndownSeries> sprintBurndownSeries() throws IOException {
+		List<SprintBurndownSeries> series = new ArrayList<SprintBurndownSeries>(size);
+		try (JsonParser parser = MAPPER.getFactory().createParser(sprintBurndowns)) {
+			parser.nextToken();
+			while (parser.nextToken() == JsonToken.START_OBJECT) {
+				series.add(SprintBurndownSeries.read(parser));
+			}
+		}
+		return series;
+	}
+
+	private static JavaType listOf(Class<?> type) {
+		return MAPPER.getTypeFactory().constructCollectionType(List.class, type);
+	}
+
+	private static Map<String, Object> object(Object... entries) {
+		Map<String, Object> object = new LinkedHashMap<String, Object>();
+		for (int i = 0; i < entries.length; i += 2) {
+			object.put((String) entries[i], entries[i + 1]);
+		}
+		return object;
+	}
+
+}
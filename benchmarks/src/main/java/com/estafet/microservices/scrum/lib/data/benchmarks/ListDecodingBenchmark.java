@@ -0,0 +1,85 @@
+package com.estafet.microservices.scrum.lib.data.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+import com.estafet.microservices.scrum.lib.data.story.Story;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares the old list decoding (raw maps, then a fresh ObjectMapper and
+ * convertValue per element) with direct typed decoding through the shared
+ * mapper. Run with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListDecodingBenchmark {
+
+	private static final JavaType STORY_LIST = RestClient.mapper().getTypeFactory()
+			.constructCollectionType(List.class, Story.class);
+
+	@Param({ "10", "100", "1000" })
+	private int size;
+
+	private byte[] json;
+
+	@Setup
+	public void setup() throws IOException {
+		List<Map<String, Object>> stories = new ArrayList<Map<String, Object>>();
+		for (int i = 1; i <= size; i++) {
+			Map<String, Object> story = new LinkedHashMap<String, Object>();
+			story.put("id", i);
+			story.put("title", "Story #" + i);
+			story.put("description", "Description of story #" + i);
+			story.put("storypoints", i % 13);
+			story.put("status", "Not Started");
+			story.put("sprintId", i % 10);
+			story.put("projectId", 1);
+			stories.add(story);
+		}
+		json = RestClient.mapper().writeValueAsBytes(stories);
+	}
+
+	@Benchmark
+	@SuppressWarnings("rawtypes")
+	public List<Story> convertValuePerElement() throws IOException {
+		List objects = RestClient.mapper().readValue(json, List.class);
+		List<Story> stories = new ArrayList<Story>();
+		ObjectMapper mapper = new ObjectMapper();
+		for (Object object : objects) {
+			Story story = mapper.convertValue(object, new TypeReference<Story>() {
+			});
+			stories.add(story);
+		}
+		return stories;
+	}
+
+	@Benchmark
+	public List<Story> typedDecoding() throws IOException {
+		return RestClient.mapper().readValue(json, STORY_LIST);
+	}
+
+}
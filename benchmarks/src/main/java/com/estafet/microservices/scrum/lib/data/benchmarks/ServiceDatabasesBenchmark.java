@@ -0,0 +1,49 @@
+package com.estafet.microservices.scrum.lib.data.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.estafet.microservices.scrum.lib.data.db.ServiceDatabase;
+import com.estafet.microservices.scrum.lib.data.db.ServiceDatabases;
+
+/**
+ * Measures loading {@code services.xml} through XStream and reading a DDL
+ * file into statements. Both read the copies bundled in this module, so no
+ * database is needed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceDatabasesBenchmark {
+
+	@Benchmark
+	public ServiceDatabases parseServicesXml() {
+		ServiceDatabases.reload();
+		return ServiceDatabases.instance();
+	}
+
+	@Benchmark
+	public List<String> loadCreateStatements() {
+		return taskApi().getCreateStatements();
+	}
+
+	@Benchmark
+	public List<String> loadDropStatements() {
+		return taskApi().getDropStatements();
+	}
+
+	private static ServiceDatabase taskApi() {
+		return ServiceDatabases.instance().getDatabase("task-api");
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.estafet.microservices.scrum.lib.data.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.estafet.microservices.scrum.lib.data.story.StoryDataSetBuilder;
+import com.estafet.microservices.scrum.lib.data.story.TaskSpec;
+import com.estafet.microservices.scrum.lib.data.task.TaskBuilder;
+
+/**
+ * Measures parsing the task column of a story data set, e.g.
+ * {@code "Task#1 [3 hours], Task#2 [5 hours]"}, with the scanning parser
+ * used by {@link StoryDataSetBuilder} against the split-and-regex parser it
+ * replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSpecBenchmark {
+
+	private static final Pattern TASK = Pattern.compile("(Task\\#\\d+)(\\s+)(\\[)(\\d+)(\\s+hours\\])");
+
+	@Param({ "1", "5", "20" })
+	private int tasks;
+
+	private String spec;
+
+	@Setup
+	public void setup() {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 1; i <= tasks; i++) {
+			if (i > 1) {
+				builder.append(", ");
+			}
+			builder.append("Task#").append(i).append(" [").append(i % 8 + 1).append(" hours]");
+		}
+		spec = builder.toString();
+	}
+
+	@Benchmark
+	public List<TaskSpec> parseTasks() {
+		return TaskSpec.parseAll(spec);
+	}
+
+	@Benchmark
+	public List<TaskBuilder> parseTasksRegex() {
+		List<TaskBuilder> builders = new ArrayList<TaskBuilder>();
+		for (String task : spec.split(",")) {
+			Matcher m = TASK.matcher(task.trim());
+			if (m.find()) {
+				builders.add(new TaskBuilder()
+					.setInitialHours(Integer.parseInt(m.group(4)))
+					.setTitle(m.group(1)));
+			}
+		}
+		return builders;
+	}
+
+}
@@ -0,0 +1,130 @@
+package com.estafet.microservices.scrum.lib.data.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public final class Parallel {
+
+	private static final AtomicInteger threadCount = new AtomicInteger();
+
+	private Parallel() {
+	}
+
+	public static <T, R> List<R> map(List<T> items, int parallelism, Function<? super T, ? extends R> function) {
+		List<R> results = new ArrayList<R>(items.size());
+		if (parallelism <= 1 || items.size() <= 1) {
+			for (T item : items) {
+				results.add(function.apply(item));
+			}
+			return results;
+		}
+		ExecutorService executor = newExecutor(Math.min(parallelism, items.size()));
+		try {
+			CompletionService<R> completionService = new ExecutorCompletionService<R>(executor);
+			List<Future<R>> futures = new ArrayList<Future<R>>(items.size());
+			for (T item : items) {
+				futures.add(completionService.submit(() -> function.apply(item)));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				try {
+					completionService.take().get();
+				} catch (ExecutionException e) {
+					cancel(futures);
+					throw propagate(e.getCause());
+				}
+			}
+			for (Future<R> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw propagate(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	public static <T, R> void forEachAsync(Iterator<? extends T> items, int window,
+			BiFunction<? super T, BooleanSupplier, ? extends CompletableFuture<? extends R>> function,
+			Consumer<? super R> consumer) {
+		AtomicBoolean cancelled = new AtomicBoolean();
+		Deque<CompletableFuture<? extends R>> inFlight = new ArrayDeque<CompletableFuture<? extends R>>();
+		boolean completed = false;
+		try {
+			while (items.hasNext()) {
+				inFlight.add(function.apply(items.next(), cancelled::get));
+				if (inFlight.size() >= window) {
+					consumer.accept(inFlight.poll().join());
+				}
+			}
+			while (!inFlight.isEmpty()) {
+				consumer.accept(inFlight.poll().join());
+			}
+			completed = true;
+		} catch (CompletionException e) {
+			throw propagate(e.getCause());
+		} finally {
+			if (!completed) {
+				cancelled.set(true);
+				cancel(new ArrayList<Future<?>>(inFlight));
+			}
+		}
+	}
+
+	public static void checkCancelled(BooleanSupplier cancelled) {
+		if (cancelled.getAsBoolean()) {
+			throw new CancellationException();
+		}
+	}
+
+	public static ExecutorService newExecutor(int threads) {
+		return Executors.newFixedThreadPool(threads, daemonThreadFactory());
+	}
+
+	public static ThreadFactory daemonThreadFactory() {
+		return runnable -> {
+			Thread thread = new Thread(runnable, "scrum-data-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	public static RuntimeException propagate(Throwable cause) {
+		if (cause instanceof RuntimeException) {
+			return (RuntimeException) cause;
+		}
+		if (cause instanceof Error) {
+			throw (Error) cause;
+		}
+		return new RuntimeException(cause);
+	}
+
+	private static void cancel(List<? extends Future<?>> futures) {
+		for (Future<?> future : futures) {
+			future.cancel(true);
+		}
+	}
+
+}
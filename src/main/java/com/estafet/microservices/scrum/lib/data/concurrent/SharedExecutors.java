@@ -0,0 +1,58 @@
+package com.estafet.microservices.scrum.lib.data.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+public final class SharedExecutors {
+
+	private static final int DEFAULT_THREADS = 16;
+
+	private static volatile ExecutorService executor;
+
+	private static volatile ScheduledExecutorService scheduler;
+
+	private SharedExecutors() {
+	}
+
+	public static ExecutorService executor() {
+		ExecutorService result = executor;
+		if (result == null) {
+			synchronized (SharedExecutors.class) {
+				if (executor == null) {
+					executor = Parallel.newExecutor(DEFAULT_THREADS);
+				}
+				result = executor;
+			}
+		}
+		return result;
+	}
+
+	public static ScheduledExecutorService scheduler() {
+		ScheduledExecutorService result = scheduler;
+		if (result == null) {
+			synchronized (SharedExecutors.class) {
+				if (scheduler == null) {
+					ScheduledThreadPoolExecutor newScheduler = new ScheduledThreadPoolExecutor(1, Parallel.daemonThreadFactory());
+					newScheduler.setRemoveOnCancelPolicy(true);
+					scheduler = newScheduler;
+				}
+				result = scheduler;
+			}
+		}
+		return result;
+	}
+
+	public static synchronized void setThreads(int threads) {
+		setExecutor(Parallel.newExecutor(threads));
+	}
+
+	public static synchronized void setExecutor(ExecutorService newExecutor) {
+		ExecutorService previous = executor;
+		executor = newExecutor;
+		if (previous != null) {
+			previous.shutdown();
+		}
+	}
+
+}
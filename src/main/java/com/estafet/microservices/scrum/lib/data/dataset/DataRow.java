@@ -0,0 +1,33 @@
+package com.estafet.microservices.scrum.lib.data.dataset;
+
+import java.util.List;
+
+public final class DataRow {
+
+	private final int number;
+
+	private final List<String> values;
+
+	public DataRow(int number, List<String> values) {
+		this.number = number;
+		this.values = values;
+	}
+
+	public int getNumber() {
+		return number;
+	}
+
+	public List<String> getValues() {
+		return values;
+	}
+
+	public String get(int column) {
+		return values.get(column);
+	}
+
+	@Override
+	public String toString() {
+		return "row " + number + " " + values;
+	}
+
+}
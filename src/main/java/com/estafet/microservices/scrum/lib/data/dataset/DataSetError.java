@@ -0,0 +1,41 @@
+package com.estafet.microservices.scrum.lib.data.dataset;
+
+public final class DataSetError {
+
+	private final int row;
+
+	private final int column;
+
+	private final String value;
+
+	private final String message;
+
+	public DataSetError(int row, int column, String value, String message) {
+		this.row = row;
+		this.column = column;
+		this.value = value;
+		this.message = message;
+	}
+
+	public int getRow() {
+		return row;
+	}
+
+	public int getColumn() {
+		return column;
+	}
+
+	public String getValue() {
+		return value;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		return "row " + row + ", column " + column + ": " + message + (value != null ? " (was '" + value + "')" : "");
+	}
+
+}
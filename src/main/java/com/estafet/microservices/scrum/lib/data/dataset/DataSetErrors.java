@@ -0,0 +1,66 @@
+package com.estafet.microservices.scrum.lib.data.dataset;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class DataSetErrors {
+
+	private List<DataSetError> errors;
+
+	public String text(DataRow row, int column) {
+		String value = value(row, column);
+		if (value != null && value.trim().isEmpty()) {
+			add(row.getNumber(), column, null, "missing value");
+			return null;
+		}
+		return value;
+	}
+
+	public int number(DataRow row, int column, int min) {
+		String value = value(row, column);
+		if (value == null) {
+			return -1;
+		}
+		try {
+			int number = Integer.parseInt(value.trim());
+			if (number >= min) {
+				return number;
+			}
+			add(row.getNumber(), column, value, "expected a number of at least " + min);
+		} catch (NumberFormatException e) {
+			add(row.getNumber(), column, value, "expected a whole number");
+		}
+		return -1;
+	}
+
+	public void add(int row, int column, String value, String message) {
+		if (errors == null) {
+			errors = new ArrayList<DataSetError>();
+		}
+		errors.add(new DataSetError(row, column + 1, value, message));
+	}
+
+	public boolean isEmpty() {
+		return errors == null;
+	}
+
+	public List<DataSetError> getErrors() {
+		return errors == null ? Collections.<DataSetError>emptyList() : errors;
+	}
+
+	public void throwIfAny() {
+		if (errors != null) {
+			throw new DataSetException(errors);
+		}
+	}
+
+	private String value(DataRow row, int column) {
+		if (column >= row.getValues().size() || row.get(column) == null) {
+			add(row.getNumber(), column, null, "missing value");
+			return null;
+		}
+		return row.get(column);
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.estafet.microservices.scrum.lib.data.dataset;
+
+import java.util.Collections;
+import java.util.List;
+
+public class DataSetException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final int MAX_LISTED = 50;
+
+	private final List<DataSetError> errors;
+
+	public DataSetException(List<DataSetError> errors) {
+		super(message(errors));
+		this.errors = Collections.unmodifiableList(errors);
+	}
+
+	public List<DataSetError> getErrors() {
+		return errors;
+	}
+
+	private static String message(List<DataSetError> errors) {
+		StringBuilder builder = new StringBuilder();
+		builder.append("Data set has ").append(errors.size()).append(errors.size() == 1 ? " invalid value" : " invalid values");
+		for (int i = 0; i < errors.size() && i < MAX_LISTED; i++) {
+			builder.append(System.lineSeparator()).append("  ").append(errors.get(i));
+		}
+		if (errors.size() > MAX_LISTED) {
+			builder.append(System.lineSeparator()).append("  ... and ").append(errors.size() - MAX_LISTED).append(" more");
+		}
+		return builder.toString();
+	}
+
+}
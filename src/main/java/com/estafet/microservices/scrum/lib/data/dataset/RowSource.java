@@ -0,0 +1,10 @@
+package com.estafet.microservices.scrum.lib.data.dataset;
+
+import java.util.stream.Stream;
+
+@FunctionalInterface
+public interface RowSource {
+
+	Stream<DataRow> rows();
+
+}
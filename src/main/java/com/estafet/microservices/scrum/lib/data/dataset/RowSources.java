@@ -0,0 +1,83 @@
+package com.estafet.microservices.scrum.lib.data.dataset;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class RowSources {
+
+	private RowSources() {
+	}
+
+	public static RowSource of(List<List<String>> data) {
+		return () -> IntStream.range(1, data.size()).mapToObj(i -> new DataRow(i, data.get(i)));
+	}
+
+	public static RowSource of(Iterator<DataRow> rows) {
+		return of(StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false));
+	}
+
+	public static RowSource of(Stream<DataRow> rows) {
+		AtomicBoolean read = new AtomicBoolean();
+		return () -> {
+			if (!read.compareAndSet(false, true)) {
+				throw new IllegalStateException("Rows from an iterator or stream can only be read once.");
+			}
+			return rows;
+		};
+	}
+
+	public static RowSource csv(Path path) {
+		return () -> {
+			Stream<String> lines;
+			try {
+				lines = Files.lines(path, StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+			AtomicInteger number = new AtomicInteger();
+			return lines.map(line -> new DataRow(number.getAndIncrement(), parseCsv(line)))
+					.filter(row -> row.getNumber() > 0 && !(row.getValues().size() == 1 && row.get(0).trim().isEmpty()));
+		};
+	}
+
+	static List<String> parseCsv(String line) {
+		List<String> values = new ArrayList<String>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					value.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					value.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				values.add(value.toString());
+				value.setLength(0);
+			} else {
+				value.append(c);
+			}
+		}
+		values.add(value.toString());
+		return values;
+	}
+
+}
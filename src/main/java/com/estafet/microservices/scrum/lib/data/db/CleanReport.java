@@ -0,0 +1,46 @@
+package com.estafet.microservices.scrum.lib.data.db;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class CleanReport {
+
+	private final Map<String, Long> serviceMillis;
+
+	private final long totalMillis;
+
+	CleanReport(Map<String, Long> serviceMillis, long totalMillis) {
+		this.serviceMillis = Collections.unmodifiableMap(new LinkedHashMap<String, Long>(serviceMillis));
+		this.totalMillis = totalMillis;
+	}
+
+	public Map<String, Long> getServiceMillis() {
+		return serviceMillis;
+	}
+
+	public long getTotalMillis() {
+		return totalMillis;
+	}
+
+	public String getSlowestService() {
+		String slowest = null;
+		for (Map.Entry<String, Long> entry : serviceMillis.entrySet()) {
+			if (slowest == null || entry.getValue() > serviceMillis.get(slowest)) {
+				slowest = entry.getKey();
+			}
+		}
+		return slowest;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("Cleaned ").append(serviceMillis.size()).append(" services in ").append(totalMillis).append("ms");
+		for (Map.Entry<String, Long> entry : serviceMillis.entrySet()) {
+			builder.append(System.lineSeparator()).append("  ").append(entry.getKey()).append(": ").append(entry.getValue()).append("ms");
+		}
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.estafet.microservices.scrum.lib.data.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+class ConnectionPool implements MetricsTrackerFactory {
+
+	static final String APPLICATION_NAME = "scrum-data-lib";
+
+	private final String service;
+
+	private final AtomicLong connectionsAcquired = new AtomicLong();
+
+	private final AtomicLong connectionTimeouts = new AtomicLong();
+
+	private final AtomicLong totalWaitNanos = new AtomicLong();
+
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+
+	private final HikariDataSource dataSource;
+
+	ConnectionPool(String service, String url, String user, String password, int maxPoolSize) {
+		this.service = service;
+		HikariConfig config = new HikariConfig();
+		config.setPoolName(service);
+		config.setDriverClassName("org.postgresql.Driver");
+		config.setJdbcUrl(url);
+		config.setUsername(user);
+		config.setPassword(password);
+		config.setMaximumPoolSize(maxPoolSize);
+		config.setMinimumIdle(1);
+		config.addDataSourceProperty("ApplicationName", APPLICATION_NAME);
+		config.addDataSourceProperty("prepareThreshold", "1");
+		config.addDataSourceProperty("preparedStatementCacheQueries", "256");
+		config.setMetricsTrackerFactory(this);
+		this.dataSource = new HikariDataSource(config);
+	}
+
+	static Connection connect(String url, String user, String password) throws SQLException {
+		Properties properties = new Properties();
+		properties.setProperty("user", user);
+		properties.setProperty("password", password);
+		properties.setProperty("ApplicationName", APPLICATION_NAME);
+		return DriverManager.getConnection(url, properties);
+	}
+
+	Connection getConnection() throws SQLException {
+		return dataSource.getConnection();
+	}
+
+	ConnectionPoolStatistics getStatistics() {
+		HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+		return new ConnectionPoolStatistics(service, pool.getActiveConnections(), pool.getIdleConnections(),
+				pool.getThreadsAwaitingConnection(), connectionsAcquired.get(), connectionTimeouts.get(), totalWaitNanos.get(),
+				maxWaitNanos.get());
+	}
+
+	void close() {
+		dataSource.close();
+	}
+
+	@Override
+	public IMetricsTracker create(String poolName, PoolStats poolStats) {
+		return new IMetricsTracker() {
+
+			@Override
+			public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+				connectionsAcquired.incrementAndGet();
+				totalWaitNanos.addAndGet(elapsedAcquiredNanos);
+				long max;
+				while (elapsedAcquiredNanos > (max = maxWaitNanos.get())
+						&& !maxWaitNanos.compareAndSet(max, elapsedAcquiredNanos)) {
+				}
+			}
+
+			@Override
+			public void recordConnectionTimeout() {
+				connectionTimeouts.incrementAndGet();
+			}
+
+		};
+	}
+
+}
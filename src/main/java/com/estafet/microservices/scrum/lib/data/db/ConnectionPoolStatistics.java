@@ -0,0 +1,76 @@
+package com.estafet.microservices.scrum.lib.data.db;
+
+public class ConnectionPoolStatistics {
+
+	private final String service;
+
+	private final int activeConnections;
+
+	private final int idleConnections;
+
+	private final int threadsAwaitingConnection;
+
+	private final long connectionsAcquired;
+
+	private final long connectionTimeouts;
+
+	private final long totalWaitNanos;
+
+	private final long maxWaitNanos;
+
+	ConnectionPoolStatistics(String service, int activeConnections, int idleConnections, int threadsAwaitingConnection,
+			long connectionsAcquired, long connectionTimeouts, long totalWaitNanos, long maxWaitNanos) {
+		this.service = service;
+		this.activeConnections = activeConnections;
+		this.idleConnections = idleConnections;
+		this.threadsAwaitingConnection = threadsAwaitingConnection;
+		this.connectionsAcquired = connectionsAcquired;
+		this.connectionTimeouts = connectionTimeouts;
+		this.totalWaitNanos = totalWaitNanos;
+		this.maxWaitNanos = maxWaitNanos;
+	}
+
+	public String getService() {
+		return service;
+	}
+
+	public int getActiveConnections() {
+		return activeConnections;
+	}
+
+	public int getIdleConnections() {
+		return idleConnections;
+	}
+
+	public int getTotalConnections() {
+		return activeConnections + idleConnections;
+	}
+
+	public int getThreadsAwaitingConnection() {
+		return threadsAwaitingConnection;
+	}
+
+	public long getConnectionsAcquired() {
+		return connectionsAcquired;
+	}
+
+	public long getConnectionTimeouts() {
+		return connectionTimeouts;
+	}
+
+	public double getAverageWaitMillis() {
+		return connectionsAcquired == 0 ? 0 : totalWaitNanos / 1e6 / connectionsAcquired;
+	}
+
+	public double getMaxWaitMillis() {
+		return maxWaitNanos / 1e6;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: active=%d, idle=%d, waiting=%d, acquired=%d, timeouts=%d, avgWait=%.2fms, maxWait=%.2fms", service,
+				activeConnections, idleConnections, threadsAwaitingConnection, connectionsAcquired, connectionTimeouts,
+				getAverageWaitMillis(), getMaxWaitMillis());
+	}
+
+}
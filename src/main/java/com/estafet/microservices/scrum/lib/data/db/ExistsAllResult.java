@@ -0,0 +1,29 @@
+package com.estafet.microservices.scrum.lib.data.db;
+
+import java.util.Collections;
+import java.util.Set;
+
+public class ExistsAllResult {
+
+	private final Set<Integer> present;
+
+	private final Set<Integer> missing;
+
+	ExistsAllResult(Set<Integer> present, Set<Integer> missing) {
+		this.present = Collections.unmodifiableSet(present);
+		this.missing = Collections.unmodifiableSet(missing);
+	}
+
+	public Set<Integer> getPresent() {
+		return present;
+	}
+
+	public Set<Integer> getMissing() {
+		return missing;
+	}
+
+	public boolean isAllPresent() {
+		return missing.isEmpty();
+	}
+
+}
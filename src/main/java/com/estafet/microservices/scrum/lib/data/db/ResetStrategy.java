@@ -0,0 +1,11 @@
+package com.estafet.microservices.scrum.lib.data.db;
+
+public enum ResetStrategy {
+
+	DROP_CREATE,
+
+	TRUNCATE,
+
+	TEMPLATE
+
+}
@@ -0,0 +1,8 @@
+package com.estafet.microservices.scrum.lib.data.db;
+
+@FunctionalInterface
+public interface RowExistenceProbe {
+
+	boolean exists(String service, String table, String key, Integer value);
+
+}
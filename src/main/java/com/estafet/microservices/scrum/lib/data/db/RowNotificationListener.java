@@ -0,0 +1,101 @@
+package com.estafet.microservices.scrum.lib.data.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+class RowNotificationListener implements Runnable {
+
+	private final String service;
+
+	private final Connection connection;
+
+	private final ConcurrentMap<String, List<CompletableFuture<Void>>> waiters = new ConcurrentHashMap<String, List<CompletableFuture<Void>>>();
+
+	private final Thread thread;
+
+	private volatile boolean running = true;
+
+	RowNotificationListener(String service, String url, String user, String password, Collection<String> channels) throws SQLException {
+		this.service = service;
+		this.connection = ConnectionPool.connect(url, user, password);
+		try (Statement statement = connection.createStatement()) {
+			for (String channel : channels) {
+				statement.execute("listen " + channel);
+			}
+		} catch (SQLException e) {
+			connection.close();
+			throw e;
+		}
+		this.thread = new Thread(this, "row-notifications-" + service);
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	boolean isRunning() {
+		return running;
+	}
+
+	CompletableFuture<Void> expect(String channel, Integer value) {
+		CompletableFuture<Void> waiter = new CompletableFuture<Void>();
+		waiters.compute(channel + ":" + value, (key, current) -> {
+			List<CompletableFuture<Void>> keyWaiters = current != null ? current : new ArrayList<CompletableFuture<Void>>();
+			keyWaiters.add(waiter);
+			return keyWaiters;
+		});
+		return waiter;
+	}
+
+	void release(String channel, Integer value, CompletableFuture<Void> waiter) {
+		waiters.computeIfPresent(channel + ":" + value, (key, current) -> {
+			current.remove(waiter);
+			return current.isEmpty() ? null : current;
+		});
+	}
+
+	@Override
+	public void run() {
+		PGConnection pgConnection;
+		try {
+			pgConnection = connection.unwrap(PGConnection.class);
+			while (running) {
+				PGNotification[] notifications = pgConnection.getNotifications(500);
+				if (notifications != null) {
+					for (PGNotification notification : notifications) {
+						List<CompletableFuture<Void>> keyWaiters = waiters.remove(notification.getName() + ":" + notification.getParameter());
+						if (keyWaiters != null) {
+							for (CompletableFuture<Void> waiter : keyWaiters) {
+								waiter.complete(null);
+							}
+						}
+					}
+				}
+			}
+		} catch (SQLException e) {
+			if (running) {
+				System.out.println("Warning - row notifications for " + service + " stopped, falling back to polling: " + e.getMessage());
+			}
+		} finally {
+			running = false;
+		}
+	}
+
+	void close() {
+		running = false;
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
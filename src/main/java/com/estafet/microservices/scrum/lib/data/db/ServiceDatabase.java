@@ -3,14 +3,30 @@ package com.estafet.microservices.scrum.lib.data.db;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.sql.Array;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.estafet.microservices.scrum.lib.commons.properties.PropertyUtils;
+import com.estafet.microservices.scrum.lib.data.metrics.Metrics;
+import com.google.common.base.CharMatcher;
 import com.google.common.io.Resources;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamOmitField;
@@ -18,6 +34,17 @@ import com.thoughtworks.xstream.annotations.XStreamOmitField;
 @XStreamAlias(value = "service")
 public class ServiceDatabase {
 
+	private static final CharMatcher SEMICOLON = CharMatcher.is(';');
+
+	private static final Pattern CREATE_OBJECT = Pattern
+			.compile("^\\s*create\\s+(table|sequence)\\s+(?:if\\s+not\\s+exists\\s+)?([\\w.\"]+)", Pattern.CASE_INSENSITIVE);
+
+	private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+	private static final ConcurrentMap<String, String> EXISTS_SQL = new ConcurrentHashMap<String, String>();
+
+	private static final ConcurrentMap<String, String> EXISTS_ALL_SQL = new ConcurrentHashMap<String, String>();
+
 	@XStreamAlias(value = "name")
 	private String name;
 
@@ -29,12 +56,24 @@ public class ServiceDatabase {
 
 	@XStreamAlias(value = "db-password-env")
 	private String dbPasswordEnvVariable;
+
+	@XStreamAlias(value = "max-pool-size")
+	private Integer maxPoolSize;
+
+	@XStreamAlias(value = "reset-strategy")
+	private ResetStrategy resetStrategy;
+
+	@XStreamAlias(value = "template-db")
+	private String templateDatabase;
 	
 	@XStreamOmitField
-	Connection connection;
+	private volatile ConnectionPool pool;
+
+	@XStreamOmitField
+	private Map<String, String> notificationKeys;
 
 	@XStreamOmitField
-	Statement statement;
+	private volatile RowNotificationListener notificationListener;
 
 	public String getName() {
 		return name;
@@ -52,69 +91,425 @@ public class ServiceDatabase {
 		return PropertyUtils.instance().getProperty(dbPasswordEnvVariable);
 	}
 
+	public int getMaxPoolSize() {
+		return maxPoolSize != null ? maxPoolSize : 10;
+	}
+
+	public ResetStrategy getResetStrategy() {
+		return resetStrategy != null ? resetStrategy : ResetStrategy.DROP_CREATE;
+	}
+
+	public ServiceDatabase setResetStrategy(ResetStrategy resetStrategy) {
+		this.resetStrategy = resetStrategy;
+		return this;
+	}
+
+	public String getTemplateDatabase() {
+		return templateDatabase != null ? templateDatabase : databaseName(getDbURL()) + "_template";
+	}
+
+	public ServiceDatabase setTemplateDatabase(String templateDatabase) {
+		this.templateDatabase = templateDatabase;
+		return this;
+	}
+
 	public void init() {
-		try {
-			Class.forName("org.postgresql.Driver");
-			connection = DriverManager.getConnection(getDbURL(), getDbUser(), getDbPassword());
-			statement = connection.createStatement();
-		} catch (ClassNotFoundException | SQLException e) {
-			throw new RuntimeException(e);
-		}
+		pool();
 	}
 	
 	public boolean exists(String table, String key, Integer value) {
-		try {
-			String sqlselect = "select " + key + " from " + table + " where " + key + " = " + value;
-			return statement.executeQuery(sqlselect).next();
+		long start = System.nanoTime();
+		try (Connection connection = pool().getConnection();
+				PreparedStatement statement = connection.prepareStatement(existsSql(table, key))) {
+			statement.setInt(1, value);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next();
+			}
 		} catch (SQLException e) {
 			throw new RuntimeException(e);
 		} finally {
-			close();
+			Metrics.recorder().recordExistsQuery(name, table, 1, System.nanoTime() - start);
 		}
 	}
 	
-	public void clean() {
-		try {
-			executeDDL("drop", statement);
-			executeDDL("create", statement);
-			System.out.println("Successfully cleaned " + name + ".");
+	public ExistsAllResult existsAll(String table, String key, Collection<Integer> values) {
+		Set<Integer> present = new LinkedHashSet<Integer>();
+		Set<Integer> missing = new LinkedHashSet<Integer>(values);
+		if (missing.isEmpty()) {
+			return new ExistsAllResult(present, missing);
+		}
+		long start = System.nanoTime();
+		int queried = missing.size();
+		try (Connection connection = pool().getConnection();
+				PreparedStatement statement = connection.prepareStatement(existsAllSql(table, key))) {
+			Array array = connection.createArrayOf("int4", missing.toArray());
+			try {
+				statement.setArray(1, array);
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						Integer value = resultSet.getInt(1);
+						if (missing.remove(value)) {
+							present.add(value);
+						}
+					}
+				}
+			} finally {
+				array.free();
+			}
+			return new ExistsAllResult(present, missing);
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
 		} finally {
-			close();
+			Metrics.recorder().recordExistsQuery(name, table, queried, System.nanoTime() - start);
 		}
 	}
 	
-	public void close() {
-		try {
-			if (statement != null) {
-				statement.close();
-			}
-			if (connection != null) {
-				connection.close();
+	public void clean() {
+		ResetStrategy strategy = getResetStrategy();
+		boolean reset = strategy == ResetStrategy.TRUNCATE && truncate() || strategy == ResetStrategy.TEMPLATE && cloneTemplate();
+		if (!reset) {
+			dropCreate();
+		}
+		System.out.println("Successfully cleaned " + name + ".");
+	}
+
+	private void dropCreate() {
+		List<String> drop = getDropStatements();
+		List<String> create = getCreateStatements();
+		try (Connection connection = pool().getConnection(); Statement statement = connection.createStatement()) {
+			connection.setAutoCommit(false);
+			try {
+				try {
+					executeBatch(drop, statement);
+				} catch (SQLException e) {
+					connection.rollback();
+					connection.setAutoCommit(true);
+					executeDDL(drop, statement);
+					connection.setAutoCommit(false);
+				}
+				executeBatch(create, statement);
+				installNotificationTriggers(statement);
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				connection.setAutoCommit(true);
 			}
+		} catch (BatchUpdateException e) {
+			throw new RuntimeException(e.getNextException() != null ? e.getNextException() : e);
 		} catch (SQLException e) {
 			throw new RuntimeException(e);
 		}
 	}
 
-	private void executeDDL(String prefix, Statement statement) {
-		for (String stmt : getStatements(prefix + "-" + name + "-db.ddl")) {
+	public List<String> getCreateStatements() {
+		return getStatements("create-" + name + "-db.ddl");
+	}
+
+	public List<String> getDropStatements() {
+		return getStatements("drop-" + name + "-db.ddl");
+	}
+
+	public ConnectionPoolStatistics getStatistics() {
+		return pool().getStatistics();
+	}
+	
+	public synchronized boolean enableNotifications(String table, String key) {
+		validateIdentifiers(table, key);
+		if (notificationKeys == null) {
+			notificationKeys = new LinkedHashMap<String, String>();
+		}
+		String previousKey = notificationKeys.put(table, key);
+		try (Connection connection = pool().getConnection(); Statement statement = connection.createStatement()) {
+			installNotificationTriggers(statement);
+			if (previousKey == null || notificationListener == null || !notificationListener.isRunning()) {
+				closeNotificationListener();
+				notificationListener = new RowNotificationListener(name, getDbURL(), getDbUser(), getDbPassword(),
+						notificationChannels());
+			}
+			return true;
+		} catch (SQLException e) {
+			notificationKeys.remove(table);
+			System.out.println("Warning - notifications for " + name + "." + table + " are not available, polling instead: " + e.getMessage());
+			return false;
+		}
+	}
+
+	public boolean isNotificationsEnabled(String table) {
+		RowNotificationListener listener = notificationListener;
+		return listener != null && listener.isRunning() && notificationKey(table) != null;
+	}
+
+	CompletableFuture<Void> expect(String table, Integer value) {
+		RowNotificationListener listener = notificationListener;
+		if (listener == null || !listener.isRunning() || notificationKey(table) == null) {
+			return null;
+		}
+		return listener.expect(channel(table), value);
+	}
+
+	void release(String table, Integer value, CompletableFuture<Void> waiter) {
+		RowNotificationListener listener = notificationListener;
+		if (listener != null) {
+			listener.release(channel(table), value, waiter);
+		}
+	}
+	
+	public synchronized void close() {
+		closeNotificationListener();
+		if (pool != null) {
+			pool.close();
+			pool = null;
+		}
+	}
+
+	private synchronized String notificationKey(String table) {
+		return notificationKeys == null ? null : notificationKeys.get(table);
+	}
+
+	private synchronized List<String> notificationChannels() {
+		List<String> channels = new ArrayList<String>();
+		for (String table : notificationKeys.keySet()) {
+			channels.add(channel(table));
+		}
+		return channels;
+	}
+
+	private synchronized void installNotificationTriggers(Statement statement) throws SQLException {
+		if (notificationKeys == null || notificationKeys.isEmpty()) {
+			return;
+		}
+		statement.execute("create or replace function scrum_data_notify() returns trigger as $$ "
+				+ "begin perform pg_notify(TG_ARGV[0], to_json(NEW) ->> TG_ARGV[1]); return NEW; end; "
+				+ "$$ language plpgsql");
+		for (Map.Entry<String, String> entry : notificationKeys.entrySet()) {
+			String table = entry.getKey();
+			statement.execute("drop trigger if exists scrum_data_notify on " + table);
+			statement.execute("create trigger scrum_data_notify after insert on " + table
+					+ " for each row execute procedure scrum_data_notify('" + channel(table) + "', '" + entry.getValue() + "')");
+		}
+	}
+
+	private void closeNotificationListener() {
+		if (notificationListener != null) {
+			notificationListener.close();
+			notificationListener = null;
+		}
+	}
+
+	private static String channel(String table) {
+		return "scrum_data_" + table;
+	}
+
+	private ConnectionPool pool() {
+		ConnectionPool result = pool;
+		if (result == null) {
+			synchronized (this) {
+				if (pool == null) {
+					pool = new ConnectionPool(name, getDbURL(), getDbUser(), getDbPassword(), getMaxPoolSize());
+				}
+				result = pool;
+			}
+		}
+		return result;
+	}
+
+	private static String existsSql(String table, String key) {
+		String cacheKey = table + "." + key;
+		String sql = EXISTS_SQL.get(cacheKey);
+		if (sql == null) {
+			validateIdentifiers(table, key);
+			sql = "select " + key + " from " + table + " where " + key + " = ?";
+			EXISTS_SQL.putIfAbsent(cacheKey, sql);
+		}
+		return sql;
+	}
+
+	private static String existsAllSql(String table, String key) {
+		String cacheKey = table + "." + key;
+		String sql = EXISTS_ALL_SQL.get(cacheKey);
+		if (sql == null) {
+			validateIdentifiers(table, key);
+			sql = "select " + key + " from " + table + " where " + key + " = any(?)";
+			EXISTS_ALL_SQL.putIfAbsent(cacheKey, sql);
+		}
+		return sql;
+	}
+
+	private static void validateIdentifiers(String table, String key) {
+		if (!IDENTIFIER.matcher(table).matches() || !IDENTIFIER.matcher(key).matches()) {
+			throw new IllegalArgumentException("Invalid table or column name " + table + "." + key);
+		}
+	}
+
+	private boolean truncate() {
+		List<String> tables = new ArrayList<String>();
+		List<String> sequences = new ArrayList<String>();
+		for (String stmt : getCreateStatements()) {
+			Matcher matcher = CREATE_OBJECT.matcher(stmt);
+			if (matcher.find()) {
+				(matcher.group(1).equalsIgnoreCase("table") ? tables : sequences).add(matcher.group(2));
+			}
+		}
+		if (tables.isEmpty()) {
+			return false;
+		}
+		try (Connection connection = pool().getConnection(); Statement statement = connection.createStatement()) {
+			connection.setAutoCommit(false);
 			try {
-				statement.executeUpdate(stmt.replaceAll("\\;", ""));
+				statement.addBatch("truncate table " + String.join(", ", tables) + " restart identity cascade");
+				for (String sequence : sequences) {
+					statement.addBatch("alter sequence " + sequence + " restart");
+				}
+				statement.executeBatch();
+				connection.commit();
+				return true;
 			} catch (SQLException e) {
-				if (prefix.equals("create")) {
-					throw new RuntimeException(e);	
-				} else {
-					System.out.println("Warning - " + e.getMessage());
+				connection.rollback();
+				throw e;
+			} finally {
+				statement.clearBatch();
+				connection.setAutoCommit(true);
+			}
+		} catch (SQLException e) {
+			SQLException cause = e.getNextException() != null ? e.getNextException() : e;
+			System.out.println("Warning - truncate of " + name + " failed, dropping and recreating instead: " + cause.getMessage());
+			return false;
+		}
+	}
+
+	private boolean cloneTemplate() {
+		String url = getDbURL();
+		String database = databaseName(url);
+		String template = getTemplateDatabase();
+		try (Connection admin = ConnectionPool.connect(adminURL(url), getDbUser(), getDbPassword());
+				Statement statement = admin.createStatement()) {
+			if (hasOtherClients(admin, database)) {
+				System.out.println("Warning - other clients are connected to " + database + ", dropping and recreating " + name
+						+ " instead of cloning " + template + ".");
+				return false;
+			}
+			if (!databaseExists(admin, template)) {
+				dropCreate();
+				disconnect(admin, database);
+				statement.execute("create database " + quote(template) + " template " + quote(database));
+			} else {
+				String clone = database + "_clone";
+				String previous = database + "_previous";
+				statement.execute("drop database if exists " + quote(clone));
+				statement.execute("create database " + quote(clone) + " template " + quote(template));
+				disconnect(admin, database);
+				statement.execute("drop database if exists " + quote(previous));
+				statement.execute("alter database " + quote(database) + " rename to " + quote(previous));
+				try {
+					statement.execute("alter database " + quote(clone) + " rename to " + quote(database));
+				} catch (SQLException e) {
+					statement.execute("alter database " + quote(previous) + " rename to " + quote(database));
+					throw e;
 				}
+				statement.execute("drop database " + quote(previous));
+			}
+		} catch (SQLException e) {
+			System.out.println("Warning - cloning " + template + " into " + name + " failed, dropping and recreating instead: " + e.getMessage());
+			return false;
+		}
+		restartNotifications();
+		return true;
+	}
+
+	private synchronized void disconnect(Connection admin, String database) throws SQLException {
+		closeNotificationListener();
+		if (pool != null) {
+			pool.close();
+			pool = null;
+		}
+		try (PreparedStatement statement = admin
+				.prepareStatement("select pg_terminate_backend(pid) from pg_stat_activity where datname = ? and application_name = ? and pid <> pg_backend_pid()")) {
+			statement.setString(1, database);
+			statement.setString(2, ConnectionPool.APPLICATION_NAME);
+			statement.executeQuery().close();
+		}
+	}
+
+	private synchronized void restartNotifications() {
+		if (notificationKeys == null || notificationKeys.isEmpty()) {
+			return;
+		}
+		try (Connection connection = pool().getConnection(); Statement statement = connection.createStatement()) {
+			installNotificationTriggers(statement);
+			closeNotificationListener();
+			notificationListener = new RowNotificationListener(name, getDbURL(), getDbUser(), getDbPassword(), notificationChannels());
+		} catch (SQLException e) {
+			System.out.println("Warning - notifications for " + name + " are not available, polling instead: " + e.getMessage());
+		}
+	}
+
+	private static boolean hasOtherClients(Connection admin, String database) throws SQLException {
+		try (PreparedStatement statement = admin.prepareStatement(
+				"select 1 from pg_stat_activity where datname = ? and application_name <> ? and pid <> pg_backend_pid()")) {
+			statement.setString(1, database);
+			statement.setString(2, ConnectionPool.APPLICATION_NAME);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next();
+			}
+		}
+	}
+
+	private static boolean databaseExists(Connection admin, String database) throws SQLException {
+		try (PreparedStatement statement = admin.prepareStatement("select 1 from pg_database where datname = ?")) {
+			statement.setString(1, database);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next();
+			}
+		}
+	}
+
+	private static String databaseName(String url) {
+		int start = url.indexOf('/', url.indexOf("//") + 2) + 1;
+		int end = url.indexOf('?', start);
+		return url.substring(start, end < 0 ? url.length() : end);
+	}
+
+	private static String adminURL(String url) {
+		int start = url.indexOf('/', url.indexOf("//") + 2) + 1;
+		int end = url.indexOf('?', start);
+		return url.substring(0, start) + "postgres" + (end < 0 ? "" : url.substring(end));
+	}
+
+	private static String quote(String identifier) {
+		return "\"" + identifier.replace("\"", "\"\"") + "\"";
+	}
+
+	private void executeBatch(List<String> statements, Statement statement) throws SQLException {
+		try {
+			for (String stmt : statements) {
+				statement.addBatch(stmt);
+			}
+			statement.executeBatch();
+		} finally {
+			statement.clearBatch();
+		}
+	}
+
+	private void executeDDL(List<String> statements, Statement statement) {
+		for (String stmt : statements) {
+			try {
+				statement.executeUpdate(stmt);
+			} catch (SQLException e) {
+				System.out.println("Warning - " + e.getMessage());
 			}
 		}
 	}
 
-	private List<String> getStatements(String filename) {
+	private static List<String> getStatements(String filename) {
 		BufferedReader reader = null;
 		try {
 			reader = new BufferedReader(new InputStreamReader(Resources.getResource(filename).openStream()));
-			return reader.lines().collect(Collectors.toList());
+			return reader.lines()
+					.map(line -> SEMICOLON.removeFrom(line).trim())
+					.filter(line -> !line.isEmpty())
+					.collect(Collectors.toList());
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		} finally {
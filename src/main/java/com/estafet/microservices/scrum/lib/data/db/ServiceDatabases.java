@@ -3,66 +3,282 @@ package com.estafet.microservices.scrum.lib.data.db;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
 
+import com.estafet.microservices.scrum.lib.data.concurrent.Parallel;
+import com.estafet.microservices.scrum.lib.data.readiness.Readiness;
+import com.estafet.microservices.scrum.lib.data.readiness.ReadinessPolicy;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Resources;
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamImplicit;
+import com.thoughtworks.xstream.annotations.XStreamOmitField;
 
 @XStreamAlias(value = "services")
 public class ServiceDatabases {
-	
+
+	private static final String[][] NOTIFICATION_TABLES = {
+			{ "task-api", "story", "story_id" },
+			{ "sprint-api", "story", "story_id" },
+			{ "sprint-burndown", "sprint", "sprint_id" },
+			{ "project-burndown", "project_burndown", "project_burndown_id" } };
+
+	private static final int DEFAULT_CLEAN_PARALLELISM = 8;
+
+	private static final List<Runnable> cleanListeners = new CopyOnWriteArrayList<Runnable>();
+
+	private static volatile ServiceDatabases instance;
+
+	private static volatile RowExistenceProbe probe;
+
 	@XStreamImplicit
 	private List<ServiceDatabase> serviceDatabases;
 
+	@XStreamOmitField
+	private Map<String, ServiceDatabase> databasesByName;
+
+	public static ServiceDatabases instance() {
+		ServiceDatabases result = instance;
+		if (result == null) {
+			synchronized (ServiceDatabases.class) {
+				if (instance == null) {
+					instance = load();
+				}
+				result = instance;
+			}
+		}
+		return result;
+	}
+
+	public static synchronized void reload() {
+		ServiceDatabases previous = instance;
+		instance = load();
+		if (previous != null) {
+			previous.closeAll();
+		}
+	}
+
+	public static synchronized void close() {
+		if (instance != null) {
+			instance.closeAll();
+		}
+	}
+
+	public static List<ConnectionPoolStatistics> getStatistics() {
+		List<ConnectionPoolStatistics> statistics = new ArrayList<ConnectionPoolStatistics>();
+		for (ServiceDatabase serviceDatabase : instance().getDatabases()) {
+			statistics.add(serviceDatabase.getStatistics());
+		}
+		return statistics;
+	}
+
 	public List<ServiceDatabase> getDatabases() {
 		return serviceDatabases;
 	}
-	
-	private ServiceDatabase getDatabase(String service) {
-		for (ServiceDatabase db : getDatabases()) {
-			if (db.getName().equals(service)) {
-				return db;
-			}
+
+	public ServiceDatabase getDatabase(String service) {
+		ServiceDatabase serviceDatabase = databasesByName.get(service);
+		if (serviceDatabase == null) {
+			throw new RuntimeException("No database is configured for service " + service + " in services.xml.");
 		}
-		return null;
+		return serviceDatabase;
 	}
 
 	public static void clean() {
-		BufferedReader reader = null;
-		try {
-			reader = new BufferedReader(new InputStreamReader(Resources.getResource("services.xml").openStream()));
-			XStream xStream = new XStream();
-			xStream.processAnnotations(ServiceDatabases.class);
-			ServiceDatabases serviceDatabases = (ServiceDatabases) xStream.fromXML(reader);
-			for (ServiceDatabase serviceDatabase : serviceDatabases.getDatabases()) {
-				serviceDatabase.init();
-				serviceDatabase.clean();
+		cleanWithReport();
+	}
+
+	public static CleanReport cleanWithReport() {
+		return cleanWithReport(DEFAULT_CLEAN_PARALLELISM);
+	}
+
+	public static CleanReport cleanWithReport(int parallelism) {
+		long start = System.nanoTime();
+		List<ServiceDatabase> databases = instance().getDatabases();
+		List<Long> durations = Parallel.map(databases, parallelism, serviceDatabase -> {
+			long serviceStart = System.nanoTime();
+			serviceDatabase.clean();
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - serviceStart);
+		});
+		Map<String, Long> serviceMillis = new LinkedHashMap<String, Long>();
+		for (int i = 0; i < databases.size(); i++) {
+			serviceMillis.put(databases.get(i).getName(), durations.get(i));
+		}
+		for (Runnable listener : cleanListeners) {
+			listener.run();
+		}
+		return new CleanReport(serviceMillis, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	public static void addCleanListener(Runnable listener) {
+		cleanListeners.add(listener);
+	}
+
+	public static RowExistenceProbe getProbe() {
+		return probe;
+	}
+
+	public static void setProbe(RowExistenceProbe rowExistenceProbe) {
+		probe = rowExistenceProbe;
+	}
+
+	public static boolean exists(String service, String table, String key, Integer value) {
+		RowExistenceProbe rowExistenceProbe = probe;
+		if (rowExistenceProbe != null) {
+			return rowExistenceProbe.exists(service, table, key, value);
+		}
+		return instance().getDatabase(service).exists(table, key, value);
+	}
+
+	public static ExistsAllResult existsAll(String service, String table, String key, Collection<Integer> values) {
+		RowExistenceProbe rowExistenceProbe = probe;
+		if (rowExistenceProbe != null) {
+			Set<Integer> present = new LinkedHashSet<Integer>();
+			Set<Integer> missing = new LinkedHashSet<Integer>();
+			for (Integer value : values) {
+				if (rowExistenceProbe.exists(service, table, key, value)) {
+					present.add(value);
+				} else {
+					missing.add(value);
+				}
 			}
-		} catch (IOException e) {
-			throw new RuntimeException(e);
+			return new ExistsAllResult(present, missing);
+		}
+		return instance().getDatabase(service).existsAll(table, key, values);
+	}
+
+	public static void waitFor(String service, String table, String key, Integer value) {
+		if (probe != null) {
+			Readiness.await(service + " " + table, () -> exists(service, table, key, value));
+			return;
+		}
+		ServiceDatabase serviceDatabase = instance().getDatabase(service);
+		String condition = service + " " + table;
+		CompletableFuture<Void> signal = serviceDatabase.expect(table, value);
+		if (signal == null) {
+			Readiness.await(condition, () -> serviceDatabase.exists(table, key, value));
+			return;
+		}
+		try {
+			Readiness.await(condition, notifiedPolicy(condition), () -> serviceDatabase.exists(table, key, value), signal);
 		} finally {
-			if (reader != null) {
-				try {
-					reader.close();
-				} catch (IOException e) {
-					throw new RuntimeException(e);
+			serviceDatabase.release(table, value, signal);
+		}
+	}
+
+	public static CompletableFuture<Void> waitForAsync(String service, String table, String key, Integer value) {
+		if (probe != null) {
+			return Readiness.awaitAsync(service + " " + table, () -> exists(service, table, key, value));
+		}
+		ServiceDatabase serviceDatabase = instance().getDatabase(service);
+		String condition = service + " " + table;
+		CompletableFuture<Void> signal = serviceDatabase.expect(table, value);
+		if (signal == null) {
+			return Readiness.awaitAsync(condition, () -> serviceDatabase.exists(table, key, value));
+		}
+		return Readiness.awaitAsync(condition, notifiedPolicy(condition), () -> serviceDatabase.exists(table, key, value), signal)
+				.whenComplete((ready, e) -> serviceDatabase.release(table, value, signal));
+	}
+
+	public static void waitForAll(String service, String table, String key, Collection<Integer> values) {
+		if (probe != null) {
+			Set<Integer> remaining = new LinkedHashSet<Integer>(values);
+			Readiness.await(service + " " + table, () -> {
+				remaining.removeAll(existsAll(service, table, key, remaining).getPresent());
+				return remaining.isEmpty();
+			});
+			return;
+		}
+		ServiceDatabase serviceDatabase = instance().getDatabase(service);
+		String condition = service + " " + table;
+		Set<Integer> remaining = new LinkedHashSet<Integer>(values);
+		BooleanSupplier check = () -> {
+			remaining.removeAll(serviceDatabase.existsAll(table, key, remaining).getPresent());
+			return remaining.isEmpty();
+		};
+		if (!serviceDatabase.isNotificationsEnabled(table)) {
+			Readiness.await(condition, check);
+			return;
+		}
+		Map<Integer, CompletableFuture<Void>> signals = new LinkedHashMap<Integer, CompletableFuture<Void>>();
+		for (Integer value : remaining) {
+			CompletableFuture<Void> signal = serviceDatabase.expect(table, value);
+			if (signal != null) {
+				signals.put(value, signal);
+			}
+		}
+		CompletableFuture<Void> allNotified = new CompletableFuture<Void>();
+		AtomicBoolean armed = new AtomicBoolean();
+		BooleanSupplier notifiedCheck = () -> {
+			if (check.getAsBoolean()) {
+				return true;
+			}
+			if (armed.compareAndSet(false, true)) {
+				List<CompletableFuture<Void>> missing = new ArrayList<CompletableFuture<Void>>();
+				for (Integer value : remaining) {
+					missing.add(signals.get(value));
 				}
+				CompletableFuture.allOf(missing.toArray(new CompletableFuture<?>[missing.size()]))
+						.whenComplete((ready, e) -> allNotified.complete(null));
+			}
+			return false;
+		};
+		try {
+			if (signals.size() < remaining.size()) {
+				Readiness.await(condition, check);
+			} else {
+				Readiness.await(condition, notifiedPolicy(condition), notifiedCheck, allNotified);
+			}
+		} finally {
+			for (Map.Entry<Integer, CompletableFuture<Void>> signal : signals.entrySet()) {
+				serviceDatabase.release(table, signal.getKey(), signal.getValue());
 			}
 		}
 	}
 
-	public static boolean exists(String service, String table, String key, Integer value) {
+	public static void enableNotifications() {
+		for (String[] table : NOTIFICATION_TABLES) {
+			if (instance().databasesByName.containsKey(table[0])) {
+				enableNotifications(table[0], table[1], table[2]);
+			}
+		}
+	}
+
+	public static boolean enableNotifications(String service, String table, String key) {
+		return instance().getDatabase(service).enableNotifications(table, key);
+	}
+
+	private static ReadinessPolicy notifiedPolicy(String condition) {
+		ReadinessPolicy policy = Readiness.getPolicy(condition);
+		return new ReadinessPolicy()
+				.setInitialDelayMillis(500)
+				.setMaxDelayMillis(5000)
+				.setTimeoutMillis(policy.getTimeoutMillis())
+				.setMaxFailures(policy.getMaxFailures())
+				.setRetryable(policy.getRetryable());
+	}
+
+	private static ServiceDatabases load() {
 		BufferedReader reader = null;
 		try {
 			reader = new BufferedReader(new InputStreamReader(Resources.getResource("services.xml").openStream()));
 			XStream xStream = new XStream();
 			xStream.processAnnotations(ServiceDatabases.class);
 			ServiceDatabases serviceDatabases = (ServiceDatabases) xStream.fromXML(reader);
-			ServiceDatabase serviceDatabase = serviceDatabases.getDatabase(service);
-			serviceDatabase.init();
-			return serviceDatabase.exists(table, key, value);
+			return serviceDatabases.index();
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		} finally {
@@ -75,5 +291,21 @@ public class ServiceDatabases {
 			}
 		}
 	}
-	
+
+	private void closeAll() {
+		for (ServiceDatabase serviceDatabase : serviceDatabases) {
+			serviceDatabase.close();
+		}
+	}
+
+	private ServiceDatabases index() {
+		serviceDatabases = serviceDatabases == null ? ImmutableList.<ServiceDatabase>of() : ImmutableList.copyOf(serviceDatabases);
+		ImmutableMap.Builder<String, ServiceDatabase> builder = ImmutableMap.builder();
+		for (ServiceDatabase serviceDatabase : serviceDatabases) {
+			builder.put(serviceDatabase.getName(), serviceDatabase);
+		}
+		databasesByName = builder.build();
+		return this;
+	}
+
 }
@@ -0,0 +1,598 @@
+package com.estafet.microservices.scrum.lib.data.fake;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.estafet.microservices.scrum.lib.data.concurrent.Parallel;
+import com.estafet.microservices.scrum.lib.data.db.RowExistenceProbe;
+import com.estafet.microservices.scrum.lib.data.db.ServiceDatabases;
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+import com.estafet.microservices.scrum.lib.data.rest.ServiceUris;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class FakeScrumServer {
+
+	private static final String NODELAY = "sun.net.httpserver.nodelay";
+
+	private static final int SPRINT_IDS_PER_PROJECT = 1000;
+
+	private static final LocalDate FIRST_SPRINT_START = LocalDate.of(2017, 10, 2);
+
+	private static final Pattern PROJECT_SPRINTS = Pattern.compile("/project/(\\d+)/sprints");
+
+	private static final Pattern PROJECT_STORIES = Pattern.compile("/project/(\\d+)/stories");
+
+	private static final Pattern PROJECT_STORY = Pattern.compile("/project/(\\d+)/story");
+
+	private static final Pattern PROJECT_BURNDOWN = Pattern.compile("/project/(\\d+)/burndown");
+
+	private static final Pattern SPRINT = Pattern.compile("/sprint/(\\d+)");
+
+	private static final Pattern SPRINT_DAYS = Pattern.compile("/sprint/(\\d+)/days");
+
+	private static final Pattern SPRINT_BURNDOWN = Pattern.compile("/sprint/(\\d+)/burndown");
+
+	private static final Pattern STORY = Pattern.compile("/story/(\\d+)");
+
+	private static final Pattern STORY_TASKS = Pattern.compile("/story/(\\d+)/tasks");
+
+	private static final Pattern STORY_TASK = Pattern.compile("/story/(\\d+)/task");
+
+	private static final Pattern TASK = Pattern.compile("/task/(\\d+)");
+
+	private static final Pattern TASK_CLAIM = Pattern.compile("/task/(\\d+)/claim");
+
+	private static final Pattern TASK_COMPLETE = Pattern.compile("/task/(\\d+)/complete");
+
+	private final ObjectMapper mapper = RestClient.mapper();
+
+	private final Map<Integer, Map<String, Object>> projects = new LinkedHashMap<Integer, Map<String, Object>>();
+
+	private final Map<Integer, Map<String, Object>> sprints = new LinkedHashMap<Integer, Map<String, Object>>();
+
+	private final Map<Integer, Map<String, Object>> stories = new LinkedHashMap<Integer, Map<String, Object>>();
+
+	private final Map<Integer, Map<String, Object>> tasks = new LinkedHashMap<Integer, Map<String, Object>>();
+
+	private final Map<Object, List<Map<String, Object>>> sprintsByProject = new HashMap<Object, List<Map<String, Object>>>();
+
+	private final Map<Object, List<Map<String, Object>>> storiesByProject = new HashMap<Object, List<Map<String, Object>>>();
+
+	private final Map<Object, List<Map<String, Object>>> storiesBySprint = new HashMap<Object, List<Map<String, Object>>>();
+
+	private final Map<Object, List<Map<String, Object>>> tasksByStory = new HashMap<Object, List<Map<String, Object>>>();
+
+	private final Map<String, Set<Integer>> rows = new ConcurrentHashMap<String, Set<Integer>>();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private int nextProjectId = 1;
+
+	private int nextStoryId = 1;
+
+	private int nextTaskId = 1;
+
+	private int port;
+
+	private int threads = 64;
+
+	private volatile long latencyMillis;
+
+	private volatile long consistencyLagMillis;
+
+	private HttpServer server;
+
+	private ExecutorService executor;
+
+	private ScheduledExecutorService scheduler;
+
+	private boolean nodelaySet;
+
+	private Map<String, String> previousUris;
+
+	private RowExistenceProbe previousProbe;
+
+	public FakeScrumServer setPort(int port) {
+		this.port = port;
+		return this;
+	}
+
+	public FakeScrumServer setThreads(int threads) {
+		this.threads = threads;
+		return this;
+	}
+
+	public FakeScrumServer setLatencyMillis(long latencyMillis) {
+		this.latencyMillis = latencyMillis;
+		return this;
+	}
+
+	public FakeScrumServer setConsistencyLagMillis(long consistencyLagMillis) {
+		this.consistencyLagMillis = consistencyLagMillis;
+		return this;
+	}
+
+	public synchronized FakeScrumServer start() {
+		if (System.getProperty(NODELAY) == null) {
+			System.setProperty(NODELAY, "true");
+			nodelaySet = true;
+		}
+		try {
+			server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		executor = Parallel.newExecutor(threads);
+		scheduler = new ScheduledThreadPoolExecutor(1, Parallel.daemonThreadFactory());
+		server.createContext("/", this::handle);
+		server.setExecutor(executor);
+		server.start();
+		previousUris = ServiceUris.getOverrides();
+		previousProbe = ServiceDatabases.getProbe();
+		ServiceUris.setAll(getUri());
+		ServiceDatabases.setProbe(this::exists);
+		return this;
+	}
+
+	public synchronized void stop() {
+		if (server != null) {
+			ServiceDatabases.setProbe(previousProbe);
+			ServiceUris.setOverrides(previousUris);
+			server.stop(0);
+			scheduler.shutdownNow();
+			executor.shutdownNow();
+			server = null;
+			previousProbe = null;
+			previousUris = null;
+		}
+		if (nodelaySet) {
+			System.clearProperty(NODELAY);
+			nodelaySet = false;
+		}
+	}
+
+	public void reset() {
+		lock.writeLock().lock();
+		try {
+			clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void clear() {
+		projects.clear();
+		sprints.clear();
+		stories.clear();
+		tasks.clear();
+		sprintsByProject.clear();
+		storiesByProject.clear();
+		storiesBySprint.clear();
+		tasksByStory.clear();
+		rows.clear();
+		nextProjectId = 1;
+		nextStoryId = 1;
+		nextTaskId = 1;
+	}
+
+	public String getUri() {
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+
+	public boolean exists(String service, String table, String key, Integer value) {
+		Set<Integer> ids = rows.get(service + " " + table);
+		return ids != null && ids.contains(value);
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		byte[] response;
+		int status;
+		try {
+			byte[] result = route(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), read(exchange.getRequestBody()));
+			status = result != null ? 200 : 404;
+			response = result != null ? result : new byte[0];
+		} catch (RuntimeException e) {
+			status = 500;
+			response = String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8);
+		}
+		int responseStatus = status;
+		byte[] responseBody = response;
+		if (latencyMillis > 0) {
+			scheduler.schedule(() -> executor.execute(() -> respond(exchange, responseStatus, responseBody)), latencyMillis,
+					TimeUnit.MILLISECONDS);
+		} else {
+			respond(exchange, responseStatus, responseBody);
+		}
+	}
+
+	private byte[] route(String method, String path, String body) {
+		Lock held = method.equals("GET") ? lock.readLock() : lock.writeLock();
+		Object result;
+		held.lock();
+		try {
+			result = snapshot(method.equals("GET") ? get(path) : method.equals("POST") ? post(path, body) : null);
+		} finally {
+			held.unlock();
+		}
+		try {
+			return result != null ? mapper.writeValueAsBytes(result) : null;
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private Object get(String path) {
+		Matcher m;
+		if (path.equals("/projects")) {
+			return new ArrayList<Map<String, Object>>(projects.values());
+		} else if ((m = PROJECT_SPRINTS.matcher(path)).matches()) {
+			return children(sprintsByProject, id(m));
+		} else if ((m = PROJECT_STORIES.matcher(path)).matches()) {
+			return children(storiesByProject, id(m));
+		} else if ((m = PROJECT_BURNDOWN.matcher(path)).matches()) {
+			return projectBurndown(id(m));
+		} else if ((m = SPRINT.matcher(path)).matches()) {
+			return sprints.get(id(m));
+		} else if ((m = SPRINT_DAYS.matcher(path)).matches()) {
+			return sprintDays(id(m));
+		} else if ((m = SPRINT_BURNDOWN.matcher(path)).matches()) {
+			return sprintBurndown(id(m));
+		} else if ((m = STORY.matcher(path)).matches()) {
+			return stories.get(id(m));
+		} else if ((m = STORY_TASKS.matcher(path)).matches()) {
+			return children(tasksByStory, id(m));
+		} else if ((m = TASK.matcher(path)).matches()) {
+			return tasks.get(id(m));
+		}
+		return null;
+	}
+
+	private Object post(String path, String body) {
+		Matcher m;
+		if (path.equals("/project")) {
+			return createProject(json(body));
+		} else if ((m = PROJECT_STORY.matcher(path)).matches()) {
+			return createStory(id(m), json(body));
+		} else if (path.equals("/add-story-to-sprint")) {
+			return addStoryToSprint(json(body));
+		} else if ((m = STORY_TASK.matcher(path)).matches()) {
+			return createTask(id(m), json(body));
+		} else if ((m = TASK_CLAIM.matcher(path)).matches()) {
+			return claimTask(id(m));
+		} else if ((m = TASK_COMPLETE.matcher(path)).matches()) {
+			return completeTask(id(m), body.replace("\"", "").trim());
+		}
+		return null;
+	}
+
+	private Map<String, Object> createProject(Map<String, Object> request) {
+		int id = nextProjectId++;
+		Map<String, Object> project = new LinkedHashMap<String, Object>();
+		project.put("id", id);
+		project.put("title", request.get("title"));
+		project.put("noSprints", request.get("noSprints"));
+		project.put("sprintLengthDays", request.get("sprintLengthDays"));
+		projects.put(id, project);
+		later(() -> {
+			createSprint(project, 1);
+			visible("project-burndown", "project_burndown", id);
+		});
+		return project;
+	}
+
+	private void createSprint(Map<String, Object> project, int number) {
+		int projectId = (Integer) project.get("id");
+		int noDays = (Integer) project.get("sprintLengthDays");
+		int id = projectId * SPRINT_IDS_PER_PROJECT + number;
+		LocalDate start = FIRST_SPRINT_START.plusDays((long) (number - 1) * noDays);
+		Map<String, Object> sprint = new LinkedHashMap<String, Object>();
+		sprint.put("id", id);
+		sprint.put("startDate", start.toString());
+		sprint.put("endDate", start.plusDays(noDays - 1).toString());
+		sprint.put("number", number);
+		sprint.put("status", "Active");
+		sprint.put("projectId", projectId);
+		sprint.put("noDays", noDays);
+		sprints.put(id, sprint);
+		addChild(sprintsByProject, projectId, sprint);
+		visible("sprint-burndown", "sprint", id);
+	}
+
+	private Map<String, Object> createStory(int projectId, Map<String, Object> request) {
+		if (!projects.containsKey(projectId)) {
+			return null;
+		}
+		int id = nextStoryId++;
+		Map<String, Object> story = new LinkedHashMap<String, Object>();
+		story.put("id", id);
+		story.put("title", request.get("title"));
+		story.put("description", request.get("description"));
+		story.put("storypoints", request.get("storypoints"));
+		story.put("status", "Not Started");
+		story.put("sprintId", null);
+		story.put("projectId", projectId);
+		stories.put(id, story);
+		addChild(storiesByProject, projectId, story);
+		later(() -> visible("task-api", "story", id));
+		return story;
+	}
+
+	private Map<String, Object> addStoryToSprint(Map<String, Object> request) {
+		Map<String, Object> story = stories.get(request.get("storyId"));
+		if (story == null || !sprints.containsKey(request.get("sprintId"))) {
+			return null;
+		}
+		if (story.get("sprintId") != null) {
+			storiesBySprint.get(story.get("sprintId")).remove(story);
+		}
+		story.put("sprintId", request.get("sprintId"));
+		addChild(storiesBySprint, request.get("sprintId"), story);
+		if (story.get("status").equals("Not Started")) {
+			story.put("status", "Planning");
+		}
+		later(() -> visible("sprint-api", "story", (Integer) story.get("id")));
+		return story;
+	}
+
+	private Map<String, Object> createTask(int storyId, Map<String, Object> request) {
+		Map<String, Object> story = stories.get(storyId);
+		if (story == null) {
+			return null;
+		}
+		int id = nextTaskId++;
+		Map<String, Object> task = new LinkedHashMap<String, Object>();
+		task.put("id", id);
+		task.put("title", request.get("title"));
+		task.put("description", request.get("description"));
+		task.put("initialHours", request.get("initialHours"));
+		task.put("remainingHours", request.get("initialHours"));
+		task.put("status", "Not Started");
+		task.put("remainingUpdated", null);
+		task.put("storyId", storyId);
+		tasks.put(id, task);
+		addChild(tasksByStory, storyId, task);
+		later(() -> {
+			if (story.get("status").equals("Not Started")) {
+				story.put("status", "Planning");
+			}
+		});
+		return task;
+	}
+
+	private Map<String, Object> claimTask(int id) {
+		Map<String, Object> task = tasks.get(id);
+		if (task == null) {
+			return null;
+		}
+		task.put("status", "In Progress");
+		Map<String, Object> story = stories.get(task.get("storyId"));
+		later(() -> story.put("status", "In Progress"));
+		return task;
+	}
+
+	private Map<String, Object> completeTask(int id, String day) {
+		Map<String, Object> task = tasks.get(id);
+		if (task == null) {
+			return null;
+		}
+		task.put("status", "Completed");
+		task.put("remainingHours", 0);
+		task.put("remainingUpdated", day);
+		Map<String, Object> story = stories.get(task.get("storyId"));
+		later(() -> {
+			for (Map<String, Object> storyTask : children(tasksByStory, story.get("id"))) {
+				if (!storyTask.get("status").equals("Completed")) {
+					return;
+				}
+			}
+			story.put("status", "Completed");
+			completeSprint(sprints.get(story.get("sprintId")));
+		});
+		return task;
+	}
+
+	private void completeSprint(Map<String, Object> sprint) {
+		if (sprint == null || sprint.get("status").equals("Completed")) {
+			return;
+		}
+		for (Map<String, Object> story : children(storiesBySprint, sprint.get("id"))) {
+			if (!story.get("status").equals("Completed")) {
+				return;
+			}
+		}
+		sprint.put("status", "Completed");
+		createSprint(projects.get(sprint.get("projectId")), (Integer) sprint.get("number") + 1);
+	}
+
+	private List<String> sprintDays(int sprintId) {
+		Map<String, Object> sprint = sprints.get(sprintId);
+		if (sprint == null) {
+			return null;
+		}
+		LocalDate start = LocalDate.parse((String) sprint.get("startDate"));
+		List<String> days = new ArrayList<String>();
+		for (int i = 0; i < (Integer) sprint.get("noDays"); i++) {
+			days.add(start.plusDays(i).toString());
+		}
+		return days;
+	}
+
+	private Map<String, Object> sprintBurndown(int sprintId) {
+		Map<String, Object> sprint = sprints.get(sprintId);
+		if (sprint == null) {
+			return null;
+		}
+		List<Map<String, Object>> sprintTasks = new ArrayList<Map<String, Object>>();
+		int initialHours = 0;
+		for (Map<String, Object> story : children(storiesBySprint, sprintId)) {
+			for (Map<String, Object> task : children(tasksByStory, story.get("id"))) {
+				sprintTasks.add(task);
+				initialHours += (Integer) task.get("initialHours");
+			}
+		}
+		List<String> days = sprintDays(sprintId);
+		List<Map<String, Object>> sprintDays = new ArrayList<Map<String, Object>>();
+		for (int i = 0; i < days.size(); i++) {
+			String day = days.get(i);
+			int hoursTotal = 0;
+			for (Map<String, Object> task : sprintTasks) {
+				String updated = (String) task.get("remainingUpdated");
+				hoursTotal += updated != null && updated.compareTo(day) <= 0 ? (Integer) task.get("remainingHours")
+						: (Integer) task.get("initialHours");
+			}
+			Map<String, Object> sprintDay = new LinkedHashMap<String, Object>();
+			sprintDay.put("dayNo", i + 1);
+			sprintDay.put("hoursTotal", hoursTotal);
+			sprintDay.put("idealHours", initialHours * (1f - (i + 1f) / days.size()));
+			sprintDay.put("sprintDay", day);
+			sprintDays.add(sprintDay);
+		}
+		Map<String, Object> burndown = new LinkedHashMap<String, Object>();
+		burndown.put("id", sprintId);
+		burndown.put("number", sprint.get("number"));
+		burndown.put("sprintDays", sprintDays);
+		return burndown;
+	}
+
+	private Map<String, Object> projectBurndown(int projectId) {
+		Map<String, Object> project = projects.get(projectId);
+		if (project == null) {
+			return null;
+		}
+		List<Map<String, Object>> projectStories = children(storiesByProject, projectId);
+		int pointsTotal = 0;
+		for (Map<String, Object> story : projectStories) {
+			pointsTotal += (Integer) story.get("storypoints");
+		}
+		int noSprints = (Integer) project.get("noSprints");
+		List<Map<String, Object>> burndownSprints = new ArrayList<Map<String, Object>>();
+		int remaining = pointsTotal;
+		for (Map<String, Object> sprint : children(sprintsByProject, projectId)) {
+			for (Map<String, Object> story : projectStories) {
+				if (sprint.get("id").equals(story.get("sprintId")) && story.get("status").equals("Completed")) {
+					remaining -= (Integer) story.get("storypoints");
+				}
+			}
+			int number = (Integer) sprint.get("number");
+			Map<String, Object> burndownSprint = new LinkedHashMap<String, Object>();
+			burndownSprint.put("id", sprint.get("id"));
+			burndownSprint.put("number", number);
+			burndownSprint.put("pointsTotal", remaining);
+			burndownSprint.put("idealPointsTotal", Math.max(0f, pointsTotal * (1f - (float) number / noSprints)));
+			burndownSprint.put("status", sprint.get("status"));
+			burndownSprints.add(burndownSprint);
+		}
+		Map<String, Object> burndown = new LinkedHashMap<String, Object>();
+		burndown.put("id", projectId);
+		burndown.put("title", project.get("title"));
+		burndown.put("sprints", burndownSprints);
+		return burndown;
+	}
+
+	private static Object snapshot(Object value) {
+		if (value instanceof Map) {
+			return new LinkedHashMap<Object, Object>((Map<?, ?>) value);
+		}
+		if (value instanceof List) {
+			List<Object> copy = new ArrayList<Object>(((List<?>) value).size());
+			for (Object item : (List<?>) value) {
+				copy.add(snapshot(item));
+			}
+			return copy;
+		}
+		return value;
+	}
+
+	private List<Map<String, Object>> children(Map<Object, List<Map<String, Object>>> index, Object parentId) {
+		List<Map<String, Object>> children = index.get(parentId);
+		return children != null ? new ArrayList<Map<String, Object>>(children) : new ArrayList<Map<String, Object>>();
+	}
+
+	private void addChild(Map<Object, List<Map<String, Object>>> index, Object parentId, Map<String, Object> child) {
+		index.computeIfAbsent(parentId, id -> new ArrayList<Map<String, Object>>()).add(child);
+	}
+
+	private void visible(String service, String table, Integer id) {
+		rows.computeIfAbsent(service + " " + table, name -> Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>()))
+				.add(id);
+	}
+
+	private void later(Runnable event) {
+		if (consistencyLagMillis <= 0) {
+			event.run();
+			return;
+		}
+		scheduler.schedule(() -> {
+			lock.writeLock().lock();
+			try {
+				event.run();
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}, consistencyLagMillis, TimeUnit.MILLISECONDS);
+	}
+
+	private void respond(HttpExchange exchange, int status, byte[] body) {
+		try {
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+			if (body.length > 0) {
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			}
+		} catch (IOException e) {
+			System.out.println("Warning - " + e.getMessage());
+		} finally {
+			exchange.close();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> json(String body) {
+		try {
+			return mapper.readValue(body, Map.class);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static int id(Matcher matcher) {
+		return Integer.parseInt(matcher.group(1));
+	}
+
+	private static String read(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int read;
+		while ((read = in.read(buffer)) >= 0) {
+			out.write(buffer, 0, read);
+		}
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,146 @@
+package com.estafet.microservices.scrum.lib.data.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class InMemoryMetricsRecorder implements MetricsRecorder {
+
+	private final ConcurrentMap<String, HttpEndpoint> httpEndpoints = new ConcurrentHashMap<String, HttpEndpoint>();
+
+	private final ConcurrentMap<String, LatencyHistogram> existsQueries = new ConcurrentHashMap<String, LatencyHistogram>();
+
+	private final ConcurrentMap<String, ReadinessWait> readinessWaits = new ConcurrentHashMap<String, ReadinessWait>();
+
+	@Override
+	public void recordHttpRequest(String method, String endpoint, int status, long durationNanos, long requestBytes,
+			long responseBytes) {
+		httpEndpoints.computeIfAbsent(method + " " + endpoint, name -> new HttpEndpoint())
+				.record(status, durationNanos, requestBytes, responseBytes);
+	}
+
+	@Override
+	public void recordExistsQuery(String service, String table, int values, long durationNanos) {
+		existsQueries.computeIfAbsent(service + " " + table, name -> new LatencyHistogram()).record(durationNanos);
+	}
+
+	@Override
+	public void recordReadinessWait(String condition, long durationNanos, int polls, boolean ready) {
+		readinessWaits.computeIfAbsent(condition, name -> new ReadinessWait()).record(durationNanos, polls, ready);
+	}
+
+	public Map<String, HttpEndpoint> getHttpEndpoints() {
+		return new TreeMap<String, HttpEndpoint>(httpEndpoints);
+	}
+
+	public Map<String, LatencyHistogram> getExistsQueries() {
+		return new TreeMap<String, LatencyHistogram>(existsQueries);
+	}
+
+	public Map<String, ReadinessWait> getReadinessWaits() {
+		return new TreeMap<String, ReadinessWait>(readinessWaits);
+	}
+
+	public void reset() {
+		httpEndpoints.clear();
+		existsQueries.clear();
+		readinessWaits.clear();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("HTTP requests");
+		for (Map.Entry<String, HttpEndpoint> entry : getHttpEndpoints().entrySet()) {
+			builder.append(System.lineSeparator()).append("  ").append(entry.getKey()).append(": ").append(entry.getValue());
+		}
+		builder.append(System.lineSeparator()).append("Exists queries");
+		for (Map.Entry<String, LatencyHistogram> entry : getExistsQueries().entrySet()) {
+			builder.append(System.lineSeparator()).append("  ").append(entry.getKey()).append(": ").append(entry.getValue());
+		}
+		builder.append(System.lineSeparator()).append("Readiness waits");
+		for (Map.Entry<String, ReadinessWait> entry : getReadinessWaits().entrySet()) {
+			builder.append(System.lineSeparator()).append("  ").append(entry.getKey()).append(": ").append(entry.getValue());
+		}
+		return builder.toString();
+	}
+
+	public static class HttpEndpoint {
+
+		private final LatencyHistogram latency = new LatencyHistogram();
+
+		private final AtomicLong errors = new AtomicLong();
+
+		private final AtomicLong requestBytes = new AtomicLong();
+
+		private final AtomicLong responseBytes = new AtomicLong();
+
+		void record(int status, long durationNanos, long requestBytes, long responseBytes) {
+			latency.record(durationNanos);
+			if (status == 0 || status >= 400) {
+				errors.incrementAndGet();
+			}
+			this.requestBytes.addAndGet(Math.max(0, requestBytes));
+			this.responseBytes.addAndGet(Math.max(0, responseBytes));
+		}
+
+		public LatencyHistogram getLatency() {
+			return latency;
+		}
+
+		public long getErrors() {
+			return errors.get();
+		}
+
+		public long getRequestBytes() {
+			return requestBytes.get();
+		}
+
+		public long getResponseBytes() {
+			return responseBytes.get();
+		}
+
+		@Override
+		public String toString() {
+			return latency + ", errors=" + errors + ", sent=" + requestBytes + "B, received=" + responseBytes + "B";
+		}
+
+	}
+
+	public static class ReadinessWait {
+
+		private final LatencyHistogram duration = new LatencyHistogram();
+
+		private final AtomicLong polls = new AtomicLong();
+
+		private final AtomicLong timeouts = new AtomicLong();
+
+		void record(long durationNanos, int polls, boolean ready) {
+			duration.record(durationNanos);
+			this.polls.addAndGet(polls);
+			if (!ready) {
+				timeouts.incrementAndGet();
+			}
+		}
+
+		public LatencyHistogram getDuration() {
+			return duration;
+		}
+
+		public long getPolls() {
+			return polls.get();
+		}
+
+		public long getTimeouts() {
+			return timeouts.get();
+		}
+
+		@Override
+		public String toString() {
+			return duration + ", polls=" + polls + ", timeouts=" + timeouts;
+		}
+
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.estafet.microservices.scrum.lib.data.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram {
+
+	private static final int BUCKETS = 40;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	private final AtomicLong count = new AtomicLong();
+
+	private final AtomicLong totalMicros = new AtomicLong();
+
+	private final AtomicLong maxMicros = new AtomicLong();
+
+	public void record(long nanos) {
+		long micros = Math.max(0, nanos / 1000);
+		counts.incrementAndGet(bucket(micros));
+		count.incrementAndGet();
+		totalMicros.addAndGet(micros);
+		long max;
+		while (micros > (max = maxMicros.get()) && !maxMicros.compareAndSet(max, micros)) {
+		}
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public double getMeanMillis() {
+		long n = count.get();
+		return n == 0 ? 0 : totalMicros.get() / 1000.0 / n;
+	}
+
+	public double getMaxMillis() {
+		return maxMicros.get() / 1000.0;
+	}
+
+	public double getPercentileMillis(double percentile) {
+		long n = count.get();
+		if (n == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(percentile / 100.0 * n);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(upperBoundMicros(i), maxMicros.get()) / 1000.0;
+			}
+		}
+		return getMaxMillis();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("count=%d, mean=%.1fms, p50=%.1fms, p95=%.1fms, p99=%.1fms, max=%.1fms", getCount(), getMeanMillis(),
+				getPercentileMillis(50), getPercentileMillis(95), getPercentileMillis(99), getMaxMillis());
+	}
+
+	private static int bucket(long micros) {
+		return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+	}
+
+	private static long upperBoundMicros(int bucket) {
+		return bucket == 0 ? 0 : (1L << bucket) - 1;
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.estafet.microservices.scrum.lib.data.metrics;
+
+public final class Metrics {
+
+	private static final MetricsRecorder NOOP = new MetricsRecorder() {
+	};
+
+	private static volatile MetricsRecorder recorder = NOOP;
+
+	private Metrics() {
+	}
+
+	public static MetricsRecorder recorder() {
+		return recorder;
+	}
+
+	public static boolean isEnabled() {
+		return recorder != NOOP;
+	}
+
+	public static void setRecorder(MetricsRecorder metricsRecorder) {
+		recorder = metricsRecorder != null ? metricsRecorder : NOOP;
+	}
+
+	public static void disable() {
+		recorder = NOOP;
+	}
+
+	public static String endpoint(String path) {
+		StringBuilder endpoint = null;
+		int segmentStart = 0;
+		for (int i = 0; i <= path.length(); i++) {
+			if (i == path.length() || path.charAt(i) == '/') {
+				if (i > segmentStart && isNumber(path, segmentStart, i)) {
+					if (endpoint == null) {
+						endpoint = new StringBuilder(path.length()).append(path, 0, segmentStart);
+					}
+					endpoint.append("{id}");
+				} else if (endpoint != null) {
+					endpoint.append(path, segmentStart, i);
+				}
+				if (endpoint != null && i < path.length()) {
+					endpoint.append('/');
+				}
+				segmentStart = i + 1;
+			}
+		}
+		return endpoint != null ? endpoint.toString() : path;
+	}
+
+	private static boolean isNumber(String path, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (!Character.isDigit(path.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
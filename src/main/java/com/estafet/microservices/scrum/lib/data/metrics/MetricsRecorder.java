@@ -0,0 +1,15 @@
+package com.estafet.microservices.scrum.lib.data.metrics;
+
+public interface MetricsRecorder {
+
+	default void recordHttpRequest(String method, String endpoint, int status, long durationNanos, long requestBytes,
+			long responseBytes) {
+	}
+
+	default void recordExistsQuery(String service, String table, int values, long durationNanos) {
+	}
+
+	default void recordReadinessWait(String condition, long durationNanos, int polls, boolean ready) {
+	}
+
+}
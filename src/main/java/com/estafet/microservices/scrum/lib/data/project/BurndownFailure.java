@@ -0,0 +1,38 @@
+package com.estafet.microservices.scrum.lib.data.project;
+
+public class BurndownFailure {
+
+	private final Integer projectId;
+
+	private final Integer sprintId;
+
+	private final Throwable cause;
+
+	BurndownFailure(Integer projectId, Integer sprintId, Throwable cause) {
+		this.projectId = projectId;
+		this.sprintId = sprintId;
+		this.cause = cause;
+	}
+
+	public Integer getProjectId() {
+		return projectId;
+	}
+
+	public Integer getSprintId() {
+		return sprintId;
+	}
+
+	public boolean isSprintFailure() {
+		return sprintId != null;
+	}
+
+	public Throwable getCause() {
+		return cause;
+	}
+
+	@Override
+	public String toString() {
+		return "project " + projectId + (sprintId != null ? " sprint " + sprintId : "") + ": " + cause;
+	}
+
+}
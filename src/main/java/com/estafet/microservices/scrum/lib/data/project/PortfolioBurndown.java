@@ -0,0 +1,75 @@
+package com.estafet.microservices.scrum.lib.data.project;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.estafet.microservices.scrum.lib.data.sprint.SprintBurndownSeries;
+
+public class PortfolioBurndown {
+
+	private final Map<Integer, ProjectBurndownSeries> projectBurndowns;
+
+	private final Map<Integer, List<SprintBurndownSeries>> sprintBurndowns;
+
+	private final List<BurndownFailure> failures;
+
+	private final long elapsedMillis;
+
+	PortfolioBurndown(Map<Integer, ProjectBurndownSeries> projectBurndowns, Map<Integer, List<SprintBurndownSeries>> sprintBurndowns,
+			List<BurndownFailure> failures, long elapsedMillis) {
+		this.projectBurndowns = Collections.unmodifiableMap(new LinkedHashMap<Integer, ProjectBurndownSeries>(projectBurndowns));
+		this.sprintBurndowns = Collections.unmodifiableMap(new LinkedHashMap<Integer, List<SprintBurndownSeries>>(sprintBurndowns));
+		this.failures = Collections.unmodifiableList(failures);
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public Map<Integer, ProjectBurndownSeries> getProjectBurndowns() {
+		return projectBurndowns;
+	}
+
+	public ProjectBurndownSeries getProjectBurndown(Integer projectId) {
+		return projectBurndowns.get(projectId);
+	}
+
+	public List<SprintBurndownSeries> getSprintBurndowns(Integer projectId) {
+		List<SprintBurndownSeries> sprints = sprintBurndowns.get(projectId);
+		return sprints != null ? sprints : Collections.<SprintBurndownSeries>emptyList();
+	}
+
+	public int getSprintBurndownCount() {
+		int count = 0;
+		for (List<SprintBurndownSeries> sprints : sprintBurndowns.values()) {
+			count += sprints.size();
+		}
+		return count;
+	}
+
+	public List<BurndownFailure> getFailures() {
+		return failures;
+	}
+
+	public boolean isComplete() {
+		return failures.isEmpty();
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("Fetched ").append(projectBurndowns.size()).append(" project and ").append(getSprintBurndownCount())
+				.append(" sprint burndowns in ").append(elapsedMillis).append("ms");
+		if (!failures.isEmpty()) {
+			builder.append(", ").append(failures.size()).append(failures.size() == 1 ? " failure" : " failures");
+			for (BurndownFailure failure : failures) {
+				builder.append(System.lineSeparator()).append("  ").append(failure);
+			}
+		}
+		return builder.toString();
+	}
+
+}
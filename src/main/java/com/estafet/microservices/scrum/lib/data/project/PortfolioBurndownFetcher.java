@@ -0,0 +1,114 @@
+package com.estafet.microservices.scrum.lib.data.project;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import com.estafet.microservices.scrum.lib.data.concurrent.Parallel;
+import com.estafet.microservices.scrum.lib.data.sprint.Sprint;
+import com.estafet.microservices.scrum.lib.data.sprint.SprintBurndownSeries;
+
+public class PortfolioBurndownFetcher {
+
+	private final List<Integer> projectIds = new ArrayList<Integer>();
+
+	private int parallelism = 8;
+
+	private boolean includeSprints = true;
+
+	public PortfolioBurndownFetcher setProjectIds(Collection<Integer> projectIds) {
+		this.projectIds.clear();
+		this.projectIds.addAll(projectIds);
+		return this;
+	}
+
+	public PortfolioBurndownFetcher setProjects(Collection<Project> projects) {
+		this.projectIds.clear();
+		for (Project project : projects) {
+			this.projectIds.add(project.getId());
+		}
+		return this;
+	}
+
+	public PortfolioBurndownFetcher setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	public PortfolioBurndownFetcher setIncludeSprints(boolean includeSprints) {
+		this.includeSprints = includeSprints;
+		return this;
+	}
+
+	public PortfolioBurndown fetch() {
+		long start = System.currentTimeMillis();
+		Queue<BurndownFailure> failures = new ConcurrentLinkedQueue<BurndownFailure>();
+		Map<Integer, ProjectBurndownSeries> projectBurndowns = new LinkedHashMap<Integer, ProjectBurndownSeries>();
+		Map<Integer, List<SprintBurndownSeries>> sprintBurndowns = new LinkedHashMap<Integer, List<SprintBurndownSeries>>();
+		ExecutorService executor = Parallel.newExecutor(Math.max(1, parallelism));
+		try {
+			Map<Integer, CompletableFuture<ProjectBurndownSeries>> projects = new LinkedHashMap<Integer, CompletableFuture<ProjectBurndownSeries>>();
+			Map<Integer, CompletableFuture<List<SprintBurndownSeries>>> sprints = new LinkedHashMap<Integer, CompletableFuture<List<SprintBurndownSeries>>>();
+			for (Integer projectId : projectIds) {
+				CompletableFuture<ProjectBurndownSeries> project = CompletableFuture
+						.supplyAsync(() -> Project.getBurndownSeries(projectId), executor);
+				projects.put(projectId, project);
+				if (includeSprints) {
+					sprints.put(projectId, project.thenCompose(series -> fetchSprints(projectId, series, executor, failures)));
+				}
+			}
+			for (Map.Entry<Integer, CompletableFuture<ProjectBurndownSeries>> entry : projects.entrySet()) {
+				try {
+					projectBurndowns.put(entry.getKey(), entry.getValue().join());
+				} catch (CompletionException e) {
+					failures.add(new BurndownFailure(entry.getKey(), null, e.getCause()));
+				}
+			}
+			for (Map.Entry<Integer, CompletableFuture<List<SprintBurndownSeries>>> entry : sprints.entrySet()) {
+				if (projectBurndowns.containsKey(entry.getKey())) {
+					sprintBurndowns.put(entry.getKey(), entry.getValue().join());
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return new PortfolioBurndown(projectBurndowns, sprintBurndowns, new ArrayList<BurndownFailure>(failures),
+				System.currentTimeMillis() - start);
+	}
+
+	private CompletableFuture<List<SprintBurndownSeries>> fetchSprints(Integer projectId, ProjectBurndownSeries project,
+			Executor executor, Queue<BurndownFailure> failures) {
+		List<CompletableFuture<SprintBurndownSeries>> sprints = new ArrayList<CompletableFuture<SprintBurndownSeries>>();
+		for (int i = 0; i < project.size(); i++) {
+			int sprintId = project.getSprintId(i);
+			if (sprintId != ProjectBurndownSeries.NO_VALUE) {
+				sprints.add(CompletableFuture.supplyAsync(() -> Sprint.getSprintBurndownSeries(sprintId), executor)
+						.handle((series, e) -> {
+							if (e != null) {
+								failures.add(new BurndownFailure(projectId, sprintId, e instanceof CompletionException ? e.getCause() : e));
+							}
+							return series;
+						}));
+			}
+		}
+		return CompletableFuture.allOf(sprints.toArray(new CompletableFuture<?>[sprints.size()])).thenApply(done -> {
+			List<SprintBurndownSeries> results = new ArrayList<SprintBurndownSeries>(sprints.size());
+			for (CompletableFuture<SprintBurndownSeries> sprint : sprints) {
+				SprintBurndownSeries series = sprint.join();
+				if (series != null) {
+					results.add(series);
+				}
+			}
+			return results;
+		});
+	}
+
+}
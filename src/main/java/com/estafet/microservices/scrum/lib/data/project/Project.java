@@ -1,23 +1,27 @@
 package com.estafet.microservices.scrum.lib.data.project;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
-import org.springframework.web.client.RestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
 
-import com.estafet.microservices.scrum.lib.commons.properties.PropertyUtils;
-import com.estafet.microservices.scrum.lib.commons.wait.WaitUntil;
+import com.estafet.microservices.scrum.lib.data.concurrent.SharedExecutors;
 import com.estafet.microservices.scrum.lib.data.db.ServiceDatabases;
+import com.estafet.microservices.scrum.lib.data.readiness.Readiness;
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+import com.estafet.microservices.scrum.lib.data.rest.ServiceUris;
 import com.estafet.microservices.scrum.lib.data.sprint.Sprint;
 import com.estafet.microservices.scrum.lib.data.story.Story;
+import com.estafet.microservices.scrum.lib.data.trace.Tracer;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Project {
 
+	private static final ParameterizedTypeReference<List<Project>> PROJECT_LIST = new ParameterizedTypeReference<List<Project>>() {
+	};
+
 	private Integer id;
 
 	private String title;
@@ -43,6 +47,10 @@ public class Project {
 	}
 	
 	public static Project getProjectById(Integer projectId) {
+		ProjectCache cache = ProjectCache.instance();
+		if (cache != null) {
+			return cache.getById(projectId);
+		}
 		for (Project project : getProjects()) {
 			if (project.getId().equals(projectId)) {
 				return project;
@@ -52,6 +60,10 @@ public class Project {
 	}
 	
 	public static Project getProjectByTitle(String title) {
+		ProjectCache cache = ProjectCache.instance();
+		if (cache != null) {
+			return cache.getByTitle(title);
+		}
 		for (Project project : getProjects()) {
 			if (project.getTitle().equals(title)) {
 				return project;
@@ -60,56 +72,39 @@ public class Project {
 		return null;
 	}
 	
-	@SuppressWarnings("rawtypes")
 	public static List<Project> getProjects() {
-		List objects = new RestTemplate().getForObject(PropertyUtils.instance().getProperty("PROJECT_API_SERVICE_URI") + "/projects",
-				List.class);
-		List<Project> projects = new ArrayList<Project>();
-		ObjectMapper mapper = new ObjectMapper();
-		for (Object object : objects) {
-			Project project = mapper.convertValue(object, new TypeReference<Project>() {
-			});
-			projects.add(project);
-		}
-		return projects;
+		return Tracer.span("lookup projects").call(() -> {
+			return RestClient.transport().getList(ServiceUris.get(ServiceUris.PROJECT_API) + "/projects",
+					PROJECT_LIST);
+		});
 	}
 
 	@JsonIgnore
 	public ProjectBurndown getBurndown() {
-		ProjectBurndown burndown = new RestTemplate().getForObject(
-				PropertyUtils.instance().getProperty("PROJECT_BURNDOWN_SERVICE_URI") + "/project/{id}/burndown", ProjectBurndown.class,
+		ProjectBurndown burndown = RestClient.transport().get(
+				ServiceUris.get(ServiceUris.PROJECT_BURNDOWN) + "/project/{id}/burndown", ProjectBurndown.class,
 				id);
 		return burndown;
 	}
 	
-	@SuppressWarnings("rawtypes")
+	@JsonIgnore
+	public ProjectBurndownSeries getBurndownSeries() {
+		return getBurndownSeries(id);
+	}
+
+	public static ProjectBurndownSeries getBurndownSeries(Integer projectId) {
+		return RestClient.transport().getStream(ServiceUris.get(ServiceUris.PROJECT_BURNDOWN) + "/project/{id}/burndown",
+				ProjectBurndownSeries::read, projectId);
+	}
+
 	@JsonIgnore
 	public List<Sprint> getSprints() {
-		List objects = new RestTemplate().getForObject(PropertyUtils.instance().getProperty("SPRINT_API_SERVICE_URI") + "/project/{id}/sprints",
-				List.class, id);
-		List<Sprint> sprints = new ArrayList<Sprint>();
-		ObjectMapper mapper = new ObjectMapper();
-		for (Object object : objects) {
-			Sprint sprint = mapper.convertValue(object, new TypeReference<Sprint>() {
-			});
-			sprints.add(sprint);
-		}
-		return sprints;
+		return Sprint.getProjectSprints(id);
 	}
 	
-	@SuppressWarnings("rawtypes")
 	@JsonIgnore
 	public List<Story> getStories() {
-		List objects = new RestTemplate().getForObject(PropertyUtils.instance().getProperty("STORY_API_SERVICE_URI") + "/project/{id}/stories",
-				List.class, id);
-		List<Story> stories = new ArrayList<Story>();
-		ObjectMapper mapper = new ObjectMapper();
-		for (Object object : objects) {
-			Story story = mapper.convertValue(object, new TypeReference<Story>() {
-			});
-			stories.add(story);
-		}
-		return stories;
+		return Story.getProjectStories(id);
 	}
 	
 	public Story getStory(String storyTitle) {
@@ -142,26 +137,26 @@ public class Project {
 	
 	public void newProjectWait() {
 		
-		new WaitUntil() {
-			public boolean success() {
-				List<Sprint> sprints = getSprints();
-				return !sprints.isEmpty() && sprints.get(0).getStatus().equals("Active");
-			}
-		}.start();
+		Readiness.await("project first sprint active", () -> {
+			List<Sprint> sprints = getSprints();
+			return !sprints.isEmpty() && sprints.get(0).getStatus().equals("Active");
+		});
 		
-		new WaitUntil() {
-			public boolean success() {
-				return ServiceDatabases.exists("project-burndown", "project_burndown", "project_burndown_id", id);
-			}
-		}.start();
+		ServiceDatabases.waitFor("project-burndown", "project_burndown", "project_burndown_id", id);
 		
 		Integer sprintId = getSprints().get(0).getId();
 		
-		new WaitUntil() {
-			public boolean success() {
-				return ServiceDatabases.exists("sprint-burndown", "sprint", "sprint_id", sprintId);
-			}
-		}.start();
+		ServiceDatabases.waitFor("sprint-burndown", "sprint", "sprint_id", sprintId);
+	}
+
+	public CompletableFuture<Void> newProjectWaitAsync() {
+		return Readiness.awaitAsync("project first sprint active", () -> {
+			List<Sprint> sprints = getSprints();
+			return !sprints.isEmpty() && sprints.get(0).getStatus().equals("Active");
+		})
+		.thenCompose(ready -> ServiceDatabases.waitForAsync("project-burndown", "project_burndown", "project_burndown_id", id))
+		.thenApplyAsync(ready -> getSprints().get(0).getId(), SharedExecutors.executor())
+		.thenCompose(sprintId -> ServiceDatabases.waitForAsync("sprint-burndown", "sprint", "sprint_id", sprintId));
 	}
 
 	Project setId(Integer id) {
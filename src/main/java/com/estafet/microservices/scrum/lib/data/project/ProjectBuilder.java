@@ -1,8 +1,10 @@
 package com.estafet.microservices.scrum.lib.data.project;
 
-import org.springframework.web.client.RestTemplate;
+import java.util.concurrent.CompletableFuture;
 
-import com.estafet.microservices.scrum.lib.commons.properties.PropertyUtils;
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+import com.estafet.microservices.scrum.lib.data.rest.ServiceUris;
+import com.estafet.microservices.scrum.lib.data.trace.Tracer;
 
 public class ProjectBuilder {
 
@@ -28,13 +30,33 @@ public class ProjectBuilder {
 	}
 
 	public Project build() {
-		Project project =  new RestTemplate().postForObject(PropertyUtils.instance().getProperty("PROJECT_API_SERVICE_URI") + "/project",
-				new Project().setTitle(title).setSprintLengthDays(sprintLengthDays).setNoSprints(noSprints),
-				Project.class);
+		Project project = post();
 		project.newProjectWait();
 		return project;
 	}
-	
-	
+
+	public CompletableFuture<Project> buildAsync() {
+		return RestClient.transport().postAsync(url(), newProject(), Project.class)
+				.thenCompose(project -> {
+					ProjectCache.invalidate();
+					return project.newProjectWaitAsync().thenApply(ready -> project);
+				});
+	}
+
+	private Project post() {
+		return Tracer.span("project POST").call(() -> {
+			Project project =  RestClient.transport().post(url(), newProject(), Project.class);
+			ProjectCache.invalidate();
+			return project;
+		});
+	}
+
+	private String url() {
+		return ServiceUris.get(ServiceUris.PROJECT_API) + "/project";
+	}
+
+	private Project newProject() {
+		return new Project().setTitle(title).setSprintLengthDays(sprintLengthDays).setNoSprints(noSprints);
+	}
 
 }
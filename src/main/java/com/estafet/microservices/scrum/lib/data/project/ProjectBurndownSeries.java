@@ -0,0 +1,277 @@
+package com.estafet.microservices.scrum.lib.data.project;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import com.estafet.microservices.scrum.lib.data.rest.JsonValues;
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+public final class ProjectBurndownSeries {
+
+	public static final int NO_VALUE = JsonValues.NO_VALUE;
+
+	private static final String COMPLETED = "Completed";
+
+	private static final String ACTIVE = "Active";
+
+	private static final String NOT_STARTED = "Not Started";
+
+	private int id = NO_VALUE;
+
+	private String title;
+
+	private int size;
+
+	private int[] sprintId = new int[8];
+
+	private int[] number = new int[8];
+
+	private int[] pointsTotal = new int[8];
+
+	private float[] idealPointsTotal = new float[8];
+
+	private String[] status = new String[8];
+
+	private ProjectBurndownSeries() {
+	}
+
+	public static ProjectBurndownSeries read(InputStream in) {
+		try (JsonParser parser = RestClient.mapper().getFactory().createParser(in)) {
+			parser.nextToken();
+			return read(parser);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public static ProjectBurndownSeries read(JsonParser parser) throws IOException {
+		if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+			throw new IOException("Expected a project burndown object but found " + parser.getCurrentToken());
+		}
+		ProjectBurndownSeries series = new ProjectBurndownSeries();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			if (field.equals("id")) {
+				series.id = JsonValues.intValue(parser, token);
+			} else if (field.equals("title")) {
+				series.title = token == JsonToken.VALUE_STRING ? parser.getText() : null;
+			} else if (field.equals("sprints") && token == JsonToken.START_ARRAY) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					series.readSprint(parser);
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+		series.trim();
+		return series;
+	}
+
+	private void readSprint(JsonParser parser) throws IOException {
+		if (size == number.length) {
+			int capacity = size * 2;
+			sprintId = Arrays.copyOf(sprintId, capacity);
+			number = Arrays.copyOf(number, capacity);
+			pointsTotal = Arrays.copyOf(pointsTotal, capacity);
+			idealPointsTotal = Arrays.copyOf(idealPointsTotal, capacity);
+			status = Arrays.copyOf(status, capacity);
+		}
+		sprintId[size] = NO_VALUE;
+		number[size] = NO_VALUE;
+		pointsTotal[size] = NO_VALUE;
+		idealPointsTotal[size] = Float.NaN;
+		status[size] = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			if (field.equals("id")) {
+				sprintId[size] = JsonValues.intValue(parser, token);
+			} else if (field.equals("number")) {
+				number[size] = JsonValues.intValue(parser, token);
+			} else if (field.equals("pointsTotal")) {
+				pointsTotal[size] = JsonValues.intValue(parser, token);
+			} else if (field.equals("idealPointsTotal")) {
+				idealPointsTotal[size] = JsonValues.floatValue(parser, token);
+			} else if (field.equals("status")) {
+				status[size] = token == JsonToken.VALUE_STRING ? status(parser.getText()) : null;
+			} else {
+				parser.skipChildren();
+			}
+		}
+		size++;
+	}
+
+	private void trim() {
+		if (size < number.length) {
+			sprintId = Arrays.copyOf(sprintId, size);
+			number = Arrays.copyOf(number, size);
+			pointsTotal = Arrays.copyOf(pointsTotal, size);
+			idealPointsTotal = Arrays.copyOf(idealPointsTotal, size);
+			status = Arrays.copyOf(status, size);
+		}
+	}
+
+	private static String status(String status) {
+		switch (status) {
+		case COMPLETED:
+			return COMPLETED;
+		case ACTIVE:
+			return ACTIVE;
+		case NOT_STARTED:
+			return NOT_STARTED;
+		default:
+			return status;
+		}
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getSprintId(int sprint) {
+		return sprintId[sprint];
+	}
+
+	public int getNumber(int sprint) {
+		return number[sprint];
+	}
+
+	public int getPointsTotal(int sprint) {
+		return pointsTotal[sprint];
+	}
+
+	public float getIdealPointsTotal(int sprint) {
+		return idealPointsTotal[sprint];
+	}
+
+	public String getStatus(int sprint) {
+		return status[sprint];
+	}
+
+	public boolean isCompleted(int sprint) {
+		return COMPLETED.equals(status[sprint]);
+	}
+
+	public int getCompletedSprints() {
+		int completed = 0;
+		for (int i = 0; i < size; i++) {
+			if (isCompleted(i)) {
+				completed++;
+			}
+		}
+		return completed;
+	}
+
+	public int getLastCompletedSprint() {
+		for (int i = size - 1; i >= 0; i--) {
+			if (isCompleted(i)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public int getInitialPoints() {
+		if (size == 0) {
+			return 0;
+		}
+		float initial = idealPointsTotal[0];
+		if (size > 1 && number[1] > number[0] && !Float.isNaN(idealPointsTotal[0]) && !Float.isNaN(idealPointsTotal[1])) {
+			float step = (idealPointsTotal[0] - idealPointsTotal[1]) / (number[1] - number[0]);
+			initial = idealPointsTotal[0] + step * number[0];
+		}
+		int points = Float.isNaN(initial) ? 0 : Math.round(initial);
+		return hasPointsTotal(0) ? Math.max(points, pointsTotal[0]) : points;
+	}
+
+	public boolean hasPointsTotal(int sprint) {
+		return pointsTotal[sprint] != NO_VALUE;
+	}
+
+	public int getLastRecordedSprint() {
+		for (int i = size - 1; i >= 0; i--) {
+			if (isCompleted(i) && hasPointsTotal(i)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public int getRemainingPoints() {
+		int last = getLastRecordedSprint();
+		return last >= 0 ? pointsTotal[last] : getInitialPoints();
+	}
+
+	public int getPointsCompleted(int sprint) {
+		if (!hasPointsTotal(sprint)) {
+			return 0;
+		}
+		int previous = sprint - 1;
+		while (previous >= 0 && !hasPointsTotal(previous)) {
+			previous--;
+		}
+		return (previous >= 0 ? pointsTotal[previous] : getInitialPoints()) - pointsTotal[sprint];
+	}
+
+	public float getVelocity() {
+		int last = getLastRecordedSprint();
+		int completed = 0;
+		for (int i = 0; i <= last; i++) {
+			if (isCompleted(i) && hasPointsTotal(i)) {
+				completed++;
+			}
+		}
+		return completed > 0 ? (float) (getInitialPoints() - getRemainingPoints()) / completed : 0f;
+	}
+
+	public float getDeviationFromIdeal(int sprint) {
+		return hasPointsTotal(sprint) ? pointsTotal[sprint] - idealPointsTotal[sprint] : Float.NaN;
+	}
+
+	public float getDeviationFromIdeal() {
+		int last = getLastRecordedSprint();
+		return last >= 0 ? getDeviationFromIdeal(last) : Float.NaN;
+	}
+
+	public int getProjectedSprintsRemaining() {
+		int remaining = getRemainingPoints();
+		if (remaining <= 0) {
+			return 0;
+		}
+		float velocity = getVelocity();
+		return velocity > 0f ? (int) Math.ceil(remaining / velocity) : NO_VALUE;
+	}
+
+	public int getProjectedCompletionSprint() {
+		int sprints = getProjectedSprintsRemaining();
+		if (sprints == NO_VALUE) {
+			return NO_VALUE;
+		}
+		int last = getLastRecordedSprint();
+		return (last >= 0 ? number[last] : 0) + sprints;
+	}
+
+	public boolean isProjectedToComplete() {
+		int projected = getProjectedCompletionSprint();
+		return projected != NO_VALUE && size > 0 && projected <= number[size - 1];
+	}
+
+	@Override
+	public String toString() {
+		return title + ": " + getCompletedSprints() + " of " + size + " sprints completed, remaining " + getRemainingPoints()
+				+ " points, velocity " + getVelocity() + ", projected completion sprint " + getProjectedCompletionSprint();
+	}
+
+}
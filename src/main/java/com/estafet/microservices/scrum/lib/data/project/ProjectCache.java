@@ -0,0 +1,104 @@
+package com.estafet.microservices.scrum.lib.data.project;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.estafet.microservices.scrum.lib.data.db.ServiceDatabases;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+public final class ProjectCache {
+
+	private static final long DEFAULT_MIN_REFRESH_MILLIS = 1000;
+
+	private static volatile ProjectCache instance;
+
+	static {
+		ServiceDatabases.addCleanListener(ProjectCache::invalidate);
+	}
+
+	private final Cache<Integer, Project> byId;
+
+	private final Cache<String, Project> byTitle;
+
+	private final long minRefreshNanos;
+
+	private volatile boolean stale = true;
+
+	private long refreshedAt;
+
+	private ProjectCache(long ttl, TimeUnit unit, long maximumSize, long minRefreshMillis) {
+		this.byId = CacheBuilder.newBuilder().expireAfterWrite(ttl, unit).maximumSize(maximumSize).build();
+		this.byTitle = CacheBuilder.newBuilder().expireAfterWrite(ttl, unit).maximumSize(maximumSize).build();
+		this.minRefreshNanos = TimeUnit.MILLISECONDS.toNanos(minRefreshMillis);
+	}
+
+	public static void enable() {
+		enable(5, TimeUnit.MINUTES, 10000);
+	}
+
+	public static void enable(long ttl, TimeUnit unit, long maximumSize) {
+		enable(ttl, unit, maximumSize, DEFAULT_MIN_REFRESH_MILLIS);
+	}
+
+	public static synchronized void enable(long ttl, TimeUnit unit, long maximumSize, long minRefreshMillis) {
+		instance = new ProjectCache(ttl, unit, maximumSize, minRefreshMillis);
+	}
+
+	public static synchronized void disable() {
+		instance = null;
+	}
+
+	public static boolean isEnabled() {
+		return instance != null;
+	}
+
+	public static void invalidate() {
+		ProjectCache cache = instance;
+		if (cache != null) {
+			cache.stale = true;
+			cache.byId.invalidateAll();
+			cache.byTitle.invalidateAll();
+		}
+	}
+
+	static ProjectCache instance() {
+		return instance;
+	}
+
+	Project getById(Integer id) {
+		Project project = byId.getIfPresent(id);
+		if (project == null) {
+			refresh();
+			project = byId.getIfPresent(id);
+		}
+		return project;
+	}
+
+	Project getByTitle(String title) {
+		Project project = byTitle.getIfPresent(title);
+		if (project == null) {
+			refresh();
+			project = byTitle.getIfPresent(title);
+		}
+		return project;
+	}
+
+	private synchronized void refresh() {
+		long now = System.nanoTime();
+		if (!stale && now - refreshedAt < minRefreshNanos) {
+			return;
+		}
+		stale = false;
+		Set<String> titles = new HashSet<String>();
+		for (Project project : Project.getProjects()) {
+			byId.put(project.getId(), project);
+			if (titles.add(project.getTitle())) {
+				byTitle.put(project.getTitle(), project);
+			}
+		}
+		refreshedAt = System.nanoTime();
+	}
+
+}
@@ -1,18 +1,40 @@
 package com.estafet.microservices.scrum.lib.data.project;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
+import com.estafet.microservices.scrum.lib.data.dataset.DataRow;
+import com.estafet.microservices.scrum.lib.data.dataset.DataSetErrors;
+import com.estafet.microservices.scrum.lib.data.dataset.RowSource;
+import com.estafet.microservices.scrum.lib.data.dataset.RowSources;
+import com.estafet.microservices.scrum.lib.data.sprint.Sprint;
 import com.estafet.microservices.scrum.lib.data.story.Story;
 import com.estafet.microservices.scrum.lib.data.story.StoryBuilder;
 import com.estafet.microservices.scrum.lib.data.task.TaskBuilder;
+import com.estafet.microservices.scrum.lib.data.trace.Trace;
+import com.estafet.microservices.scrum.lib.data.trace.Tracer;
 
 public class ProjectCompleteDataSetBuilder {
 
-	private List<List<String>> data;
+	private static final int STORY_BATCH_SIZE = 500;
+
+	private RowSource source;
 	private String projectTitle;
+	private int parallelism = 8;
+	private Path traceFile;
 	
 	public ProjectCompleteDataSetBuilder setData(List<List<String>> data) {
-		this.data = data;
+		this.source = RowSources.of(data);
+		return this;
+	}
+
+	public ProjectCompleteDataSetBuilder setSource(RowSource source) {
+		this.source = source;
 		return this;
 	}
 
@@ -21,34 +43,125 @@ public class ProjectCompleteDataSetBuilder {
 		return this;
 	}
 	
+	public ProjectCompleteDataSetBuilder setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	public ProjectCompleteDataSetBuilder setTraceFile(Path traceFile) {
+		this.traceFile = traceFile;
+		return this;
+	}
+
 	public Project build() {
+		Trace trace = traceFile != null ? Tracer.begin("ProjectCompleteDataSetBuilder " + projectTitle) : null;
+		try {
+			return buildProject();
+		} finally {
+			Tracer.end(trace, traceFile);
+		}
+	}
+
+	public void validate() {
+		parseAll();
+	}
+
+	private List<SprintStoryRow> parseAll() {
+		return Tracer.span("validate").call(() -> {
+			List<SprintStoryRow> rows = new ArrayList<SprintStoryRow>();
+			DataSetErrors errors = new DataSetErrors();
+			try (Stream<DataRow> dataRows = source.rows()) {
+				dataRows.forEachOrdered(row -> rows.add(parse(row, errors)));
+			}
+			errors.throwIfAny();
+			return rows;
+		});
+	}
+
+	private static SprintStoryRow parse(DataRow row, DataSetErrors errors) {
+		return new SprintStoryRow(row.getNumber(), errors.text(row, 0), errors.number(row, 1, 0), errors.text(row, 2));
+	}
+
+	private Project buildProject() {
+		List<SprintStoryRow> rows = parseAll();
 		Project project = Project.getProjectByTitle(projectTitle);
-		for (int i = 1; i < data.size(); i++) {
-			String storyTitle = data.get(i).get(0);
-			Integer storypoints = Integer.parseInt(data.get(i).get(1));
-			Story story = new StoryBuilder()
+		Map<String, Story> storiesByTitle = new HashMap<String, Story>();
+		List<StoryBuilder> storyBuilders = new ArrayList<StoryBuilder>();
+		Iterator<SprintStoryRow> iterator = rows.iterator();
+		while (iterator.hasNext()) {
+			SprintStoryRow row = iterator.next();
+			storyBuilders.add(new StoryBuilder()
 							.setProjectId(project.getId())
-							.setTitle(storyTitle)
-							.setStorypoints(storypoints)
-							.build();
-			new TaskBuilder()
-				.setStoryId(story.getId())
-				.build();
+							.setTitle(row.getTitle())
+							.setStorypoints(row.getStorypoints()));
+			if (storyBuilders.size() == STORY_BATCH_SIZE || !iterator.hasNext()) {
+				buildStories(storyBuilders, storiesByTitle);
+			}
 		}
-		String previousSprint = project.getActiveSprint().getName();
-		for (int i = 1; i < data.size(); i++) {
-			String sprint = data.get(i).get(2);
-			String storyTitle = data.get(i).get(0);
-			if (!sprint.equals(previousSprint)) {
-				project.getSprint(previousSprint).complete();
-				project.getStory(storyTitle).addToSprint(project.getSprint(sprint).getId());
-			} else {
-				project.getStory(storyTitle).addToSprint(project.getSprint(previousSprint).getId());
+		Map<String, Sprint> sprintsByName = new HashMap<String, Sprint>();
+		putSprints(sprintsByName, project.getSprints());
+		String previousSprint = getActiveSprint(sprintsByName).getName();
+		List<Story> sprintStories = new ArrayList<Story>();
+		for (SprintStoryRow row : rows) {
+			if (!row.getSprint().equals(previousSprint)) {
+				complete(project, sprintsByName, sprintStories, previousSprint);
 			}
-			previousSprint = sprint;
+			Story story = storiesByTitle.get(row.getTitle());
+			sprintStories.add(story != null ? story : project.getStory(row.getTitle()));
+			previousSprint = row.getSprint();
 		}
-		project.getSprint(previousSprint).complete();
+		complete(project, sprintsByName, sprintStories, previousSprint);
 		return project;
 	}
+
+	private void buildStories(List<StoryBuilder> storyBuilders, Map<String, Story> storiesByTitle) {
+		Tracer.span("story batch").arg("stories", storyBuilders.size()).run(() -> {
+			for (Story story : StoryBuilder.buildAll(storyBuilders)) {
+				storiesByTitle.putIfAbsent(story.getTitle(), story);
+				new TaskBuilder()
+					.setStoryId(story.getId())
+					.build();
+			}
+			storyBuilders.clear();
+		});
+	}
+
+	private void complete(Project project, Map<String, Sprint> sprintsByName, List<Story> sprintStories, String name) {
+		Tracer.span("sprint ", name).arg("stories", sprintStories.size()).run(() -> {
+			Sprint sprint = getSprint(project, sprintsByName, name);
+			if (!sprintStories.isEmpty()) {
+				Story.addToSprint(sprintStories, sprint.getId());
+				sprintStories.clear();
+			}
+			Sprint next = sprint.completeWithReport(parallelism).getNextSprint();
+			if (next != null) {
+				sprintsByName.put(next.getName(), next);
+			}
+		});
+	}
+
+	private Sprint getSprint(Project project, Map<String, Sprint> sprintsByName, String name) {
+		Sprint sprint = sprintsByName.get(name);
+		if (sprint == null) {
+			putSprints(sprintsByName, project.getSprints());
+			sprint = sprintsByName.get(name);
+		}
+		return sprint;
+	}
+
+	private Sprint getActiveSprint(Map<String, Sprint> sprintsByName) {
+		for (Sprint sprint : sprintsByName.values()) {
+			if (sprint.getStatus().equals("Active")) {
+				return sprint;
+			}
+		}
+		return null;
+	}
+
+	private void putSprints(Map<String, Sprint> sprintsByName, List<Sprint> sprints) {
+		for (Sprint sprint : sprints) {
+			sprintsByName.put(sprint.getName(), sprint);
+		}
+	}
 	
 }
@@ -1,29 +1,84 @@
 package com.estafet.microservices.scrum.lib.data.project;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.estafet.microservices.scrum.lib.data.dataset.DataRow;
+import com.estafet.microservices.scrum.lib.data.dataset.DataSetErrors;
+import com.estafet.microservices.scrum.lib.data.dataset.RowSource;
+import com.estafet.microservices.scrum.lib.data.dataset.RowSources;
+import com.estafet.microservices.scrum.lib.data.trace.Trace;
+import com.estafet.microservices.scrum.lib.data.trace.Tracer;
 
 public class ProjectDataSetBuilder {
 
-	private List<List<String>> data;
+	private RowSource source;
+
+	private Path traceFile;
 	
 	public ProjectDataSetBuilder setData(List<List<String>> data) {
-		this.data = data;
+		this.source = RowSources.of(data);
+		return this;
+	}
+
+	public ProjectDataSetBuilder setSource(RowSource source) {
+		this.source = source;
+		return this;
+	}
+
+	public ProjectDataSetBuilder setTraceFile(Path traceFile) {
+		this.traceFile = traceFile;
 		return this;
 	}
 
 	public List<Project> build() {
 		List<Project> projects = new ArrayList<Project>();
-		for (int i = 1; i < data.size(); i++) {
-			List<String> row = data.get(i);
-			Project project = new ProjectBuilder()
-							.setTitle(row.get(0))
-							.setNoSprints(Integer.parseInt(row.get(1)))
-							.setSprintLengthDays(Integer.parseInt(row.get(2)))
-							.build();
-			projects.add(project);
-		}
+		build(projects::add);
 		return projects;
 	}
+
+	public void build(Consumer<? super Project> consumer) {
+		Trace trace = traceFile != null ? Tracer.begin("ProjectDataSetBuilder") : null;
+		try {
+			for (ProjectRow row : parseAll()) {
+				consumer.accept(build(row));
+			}
+		} finally {
+			Tracer.end(trace, traceFile);
+		}
+	}
+
+	public void validate() {
+		parseAll();
+	}
+
+	private List<ProjectRow> parseAll() {
+		return Tracer.span("validate").call(() -> {
+			List<ProjectRow> rows = new ArrayList<ProjectRow>();
+			DataSetErrors errors = new DataSetErrors();
+			try (Stream<DataRow> dataRows = source.rows()) {
+				dataRows.forEachOrdered(row -> rows.add(parse(row, errors)));
+			}
+			errors.throwIfAny();
+			return rows;
+		});
+	}
+
+	private static ProjectRow parse(DataRow row, DataSetErrors errors) {
+		return new ProjectRow(row.getNumber(), errors.text(row, 0), errors.number(row, 1, 1), errors.number(row, 2, 1));
+	}
+
+	private Project build(ProjectRow row) {
+		return Tracer.span("row ", row.getNumber()).arg("title", row.getTitle()).call(() -> {
+			return new ProjectBuilder()
+							.setTitle(row.getTitle())
+							.setNoSprints(row.getNoSprints())
+							.setSprintLengthDays(row.getSprintLengthDays())
+							.build();
+		});
+	}
 	
 }
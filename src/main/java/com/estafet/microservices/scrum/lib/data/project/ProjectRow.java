@@ -0,0 +1,36 @@
+package com.estafet.microservices.scrum.lib.data.project;
+
+public final class ProjectRow {
+
+	private final int number;
+
+	private final String title;
+
+	private final int noSprints;
+
+	private final int sprintLengthDays;
+
+	ProjectRow(int number, String title, int noSprints, int sprintLengthDays) {
+		this.number = number;
+		this.title = title;
+		this.noSprints = noSprints;
+		this.sprintLengthDays = sprintLengthDays;
+	}
+
+	public int getNumber() {
+		return number;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public int getNoSprints() {
+		return noSprints;
+	}
+
+	public int getSprintLengthDays() {
+		return sprintLengthDays;
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.estafet.microservices.scrum.lib.data.project;
+
+public final class SprintStoryRow {
+
+	private final int number;
+
+	private final String title;
+
+	private final int storypoints;
+
+	private final String sprint;
+
+	SprintStoryRow(int number, String title, int storypoints, String sprint) {
+		this.number = number;
+		this.title = title;
+		this.storypoints = storypoints;
+		this.sprint = sprint;
+	}
+
+	public int getNumber() {
+		return number;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public int getStorypoints() {
+		return storypoints;
+	}
+
+	public String getSprint() {
+		return sprint;
+	}
+
+}
@@ -0,0 +1,239 @@
+package com.estafet.microservices.scrum.lib.data.readiness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+import com.estafet.microservices.scrum.lib.data.concurrent.SharedExecutors;
+import com.estafet.microservices.scrum.lib.data.metrics.Metrics;
+import com.estafet.microservices.scrum.lib.data.trace.Tracer;
+
+public final class Readiness {
+
+	private static final ConcurrentMap<String, ReadinessPolicy> policies = new ConcurrentHashMap<String, ReadinessPolicy>();
+
+	private static final ConcurrentMap<String, ReadinessTimings> timings = new ConcurrentHashMap<String, ReadinessTimings>();
+
+	private static volatile ReadinessPolicy defaultPolicy = new ReadinessPolicy();
+
+	private Readiness() {
+	}
+
+	public static void await(String condition, BooleanSupplier check) {
+		await(condition, getPolicy(condition), check);
+	}
+
+	public static void await(String condition, ReadinessPolicy policy, BooleanSupplier check) {
+		await(condition, policy, check, null);
+	}
+
+	public static void await(String condition, ReadinessPolicy policy, BooleanSupplier check, Future<?> signal) {
+		Tracer.span("wait ", condition).run(() -> {
+			poll(condition, policy, check, signal);
+		});
+	}
+
+	private static void poll(String condition, ReadinessPolicy policy, BooleanSupplier check, Future<?> signal) {
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.MILLISECONDS.toNanos(policy.getTimeoutMillis());
+		int polls = 0;
+		int failures = 0;
+		RuntimeException lastFailure = null;
+		while (true) {
+			polls++;
+			boolean signalled = signal != null && signal.isDone();
+			try {
+				if (check.getAsBoolean()) {
+					record(condition, System.nanoTime() - start, polls, true);
+					return;
+				}
+				lastFailure = null;
+				failures = 0;
+			} catch (RuntimeException e) {
+				if (!policy.isRetryable(e, ++failures)) {
+					record(condition, System.nanoTime() - start, polls, false);
+					throw e;
+				}
+				lastFailure = e;
+			}
+			long remainingNanos = deadline - System.nanoTime();
+			if (remainingNanos <= 0) {
+				record(condition, System.nanoTime() - start, polls, false);
+				throw new ReadinessTimeoutException(condition, policy.getTimeoutMillis(), polls, lastFailure);
+			}
+			long delayMillis = Math.min(policy.delayMillis(polls), TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1);
+			if (signal != null && !signal.isDone()) {
+				awaitSignal(signal, delayMillis);
+			} else if (signal == null || signalled) {
+				sleep(delayMillis);
+			}
+		}
+	}
+
+	public static CompletableFuture<Void> awaitAsync(String condition, BooleanSupplier check) {
+		return awaitAsync(condition, getPolicy(condition), check);
+	}
+
+	public static CompletableFuture<Void> awaitAsync(String condition, ReadinessPolicy policy, BooleanSupplier check) {
+		return awaitAsync(condition, policy, check, null);
+	}
+
+	public static CompletableFuture<Void> awaitAsync(String condition, ReadinessPolicy policy, BooleanSupplier check,
+			CompletableFuture<?> signal) {
+		AsyncAwait await = new AsyncAwait(condition, policy, check);
+		if (signal != null) {
+			signal.whenComplete((value, e) -> await.wake());
+		}
+		await.submit();
+		return await.result;
+	}
+
+	public static ReadinessPolicy getDefaultPolicy() {
+		return defaultPolicy;
+	}
+
+	public static void setDefaultPolicy(ReadinessPolicy policy) {
+		defaultPolicy = policy;
+	}
+
+	public static ReadinessPolicy getPolicy(String condition) {
+		ReadinessPolicy policy = policies.get(condition);
+		return policy != null ? policy : defaultPolicy;
+	}
+
+	public static void setPolicy(String condition, ReadinessPolicy policy) {
+		policies.put(condition, policy);
+	}
+
+	public static List<ReadinessTimings> getTimings() {
+		return new ArrayList<ReadinessTimings>(timings.values());
+	}
+
+	public static void resetTimings() {
+		timings.clear();
+	}
+
+	private static void record(String condition, long nanos, int polls, boolean ready) {
+		timings.computeIfAbsent(condition, ReadinessTimings::new).record(nanos, polls, ready);
+		Metrics.recorder().recordReadinessWait(condition, nanos, polls, ready);
+	}
+
+	private static class AsyncAwait implements Runnable {
+
+		private final CompletableFuture<Void> result = new CompletableFuture<Void>();
+
+		private final String condition;
+
+		private final ReadinessPolicy policy;
+
+		private final BooleanSupplier check;
+
+		private final long start = System.nanoTime();
+
+		private final long deadline;
+
+		private int polls;
+
+		private int failures;
+
+		private volatile ScheduledFuture<?> next;
+
+		private volatile boolean woken;
+
+		AsyncAwait(String condition, ReadinessPolicy policy, BooleanSupplier check) {
+			this.condition = condition;
+			this.policy = policy;
+			this.check = check;
+			this.deadline = start + TimeUnit.MILLISECONDS.toNanos(policy.getTimeoutMillis());
+		}
+
+		void submit() {
+			try {
+				SharedExecutors.executor().execute(this);
+			} catch (RejectedExecutionException e) {
+				result.completeExceptionally(e);
+			}
+		}
+
+		void wake() {
+			woken = true;
+			ScheduledFuture<?> scheduled = next;
+			if (scheduled != null && scheduled.cancel(false)) {
+				submit();
+			}
+		}
+
+		@Override
+		public synchronized void run() {
+			if (result.isDone()) {
+				return;
+			}
+			woken = false;
+			polls++;
+			RuntimeException lastFailure = null;
+			try {
+				if (check.getAsBoolean()) {
+					record(condition, System.nanoTime() - start, polls, true);
+					result.complete(null);
+					return;
+				}
+				failures = 0;
+			} catch (RuntimeException e) {
+				if (!policy.isRetryable(e, ++failures)) {
+					record(condition, System.nanoTime() - start, polls, false);
+					result.completeExceptionally(e);
+					return;
+				}
+				lastFailure = e;
+			}
+			long remainingNanos = deadline - System.nanoTime();
+			if (remainingNanos <= 0) {
+				record(condition, System.nanoTime() - start, polls, false);
+				result.completeExceptionally(new ReadinessTimeoutException(condition, policy.getTimeoutMillis(), polls, lastFailure));
+				return;
+			}
+			if (woken) {
+				submit();
+				return;
+			}
+			long delayMillis = Math.min(policy.delayMillis(polls), TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1);
+			ScheduledFuture<?> scheduled = SharedExecutors.scheduler().schedule(this::submit, delayMillis, TimeUnit.MILLISECONDS);
+			next = scheduled;
+			if (woken && scheduled.cancel(false)) {
+				submit();
+			}
+		}
+
+	}
+
+	private static void awaitSignal(Future<?> signal, long millis) {
+		try {
+			signal.get(millis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException | ExecutionException | CancellationException e) {
+			return;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+package com.estafet.microservices.scrum.lib.data.readiness;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+public class ReadinessPolicy {
+
+	private long initialDelayMillis = 50;
+
+	private long maxDelayMillis = 1000;
+
+	private double multiplier = 2.0;
+
+	private double jitter = 0.2;
+
+	private long timeoutMillis = 60000;
+
+	private int maxFailures = 10;
+
+	private Predicate<? super RuntimeException> retryable = ReadinessPolicy::isTransient;
+
+	public long getInitialDelayMillis() {
+		return initialDelayMillis;
+	}
+
+	public long getMaxDelayMillis() {
+		return maxDelayMillis;
+	}
+
+	public double getMultiplier() {
+		return multiplier;
+	}
+
+	public double getJitter() {
+		return jitter;
+	}
+
+	public long getTimeoutMillis() {
+		return timeoutMillis;
+	}
+
+	public int getMaxFailures() {
+		return maxFailures;
+	}
+
+	public ReadinessPolicy setMaxFailures(int maxFailures) {
+		this.maxFailures = maxFailures;
+		return this;
+	}
+
+	public Predicate<? super RuntimeException> getRetryable() {
+		return retryable;
+	}
+
+	public ReadinessPolicy setRetryable(Predicate<? super RuntimeException> retryable) {
+		this.retryable = retryable;
+		return this;
+	}
+
+	public boolean isRetryable(RuntimeException failure, int consecutiveFailures) {
+		return consecutiveFailures < maxFailures && retryable.test(failure);
+	}
+
+	public static boolean isTransient(RuntimeException failure) {
+		if (failure instanceof HttpServerErrorException || failure instanceof ResourceAccessException) {
+			return true;
+		}
+		if (failure instanceof HttpStatusCodeException) {
+			int status = ((HttpStatusCodeException) failure).getRawStatusCode();
+			return status == 408 || status == 429;
+		}
+		return failure.getCause() instanceof SQLException || failure.getCause() instanceof IOException;
+	}
+
+	public ReadinessPolicy setInitialDelayMillis(long initialDelayMillis) {
+		this.initialDelayMillis = initialDelayMillis;
+		return this;
+	}
+
+	public ReadinessPolicy setMaxDelayMillis(long maxDelayMillis) {
+		this.maxDelayMillis = maxDelayMillis;
+		return this;
+	}
+
+	public ReadinessPolicy setMultiplier(double multiplier) {
+		this.multiplier = multiplier;
+		return this;
+	}
+
+	public ReadinessPolicy setJitter(double jitter) {
+		this.jitter = jitter;
+		return this;
+	}
+
+	public ReadinessPolicy setTimeoutMillis(long timeoutMillis) {
+		this.timeoutMillis = timeoutMillis;
+		return this;
+	}
+
+	public long delayMillis(int attempt) {
+		double delay = Math.min(maxDelayMillis, initialDelayMillis * Math.pow(multiplier, attempt - 1));
+		if (jitter > 0) {
+			delay -= delay * jitter * ThreadLocalRandom.current().nextDouble();
+		}
+		return Math.max(1, (long) delay);
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.estafet.microservices.scrum.lib.data.readiness;
+
+public class ReadinessTimeoutException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String condition;
+
+	private final int polls;
+
+	public ReadinessTimeoutException(String condition, long timeoutMillis, int polls, Throwable lastFailure) {
+		super("Timed out after " + timeoutMillis + "ms and " + polls + " polls waiting for " + condition, lastFailure);
+		this.condition = condition;
+		this.polls = polls;
+	}
+
+	public String getCondition() {
+		return condition;
+	}
+
+	public int getPolls() {
+		return polls;
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.estafet.microservices.scrum.lib.data.readiness;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ReadinessTimings {
+
+	private final String condition;
+
+	private final AtomicLong waits = new AtomicLong();
+
+	private final AtomicLong timeouts = new AtomicLong();
+
+	private final AtomicLong polls = new AtomicLong();
+
+	private final AtomicLong totalNanos = new AtomicLong();
+
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	ReadinessTimings(String condition) {
+		this.condition = condition;
+	}
+
+	void record(long nanos, int polls, boolean ready) {
+		waits.incrementAndGet();
+		if (!ready) {
+			timeouts.incrementAndGet();
+		}
+		this.polls.addAndGet(polls);
+		totalNanos.addAndGet(nanos);
+		long max;
+		while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+		}
+	}
+
+	public String getCondition() {
+		return condition;
+	}
+
+	public long getWaits() {
+		return waits.get();
+	}
+
+	public long getTimeouts() {
+		return timeouts.get();
+	}
+
+	public long getPolls() {
+		return polls.get();
+	}
+
+	public double getAverageMillis() {
+		long count = waits.get();
+		return count == 0 ? 0 : totalNanos.get() / 1e6 / count;
+	}
+
+	public double getMaxMillis() {
+		return maxNanos.get() / 1e6;
+	}
+
+	public double getAveragePolls() {
+		long count = waits.get();
+		return count == 0 ? 0 : (double) polls.get() / count;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: waits=%d, timeouts=%d, avg=%.1fms, max=%.1fms, avgPolls=%.1f", condition, getWaits(), getTimeouts(),
+				getAverageMillis(), getMaxMillis(), getAveragePolls());
+	}
+
+}
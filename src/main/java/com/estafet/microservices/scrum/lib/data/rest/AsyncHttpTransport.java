@@ -0,0 +1,163 @@
+package com.estafet.microservices.scrum.lib.data.rest;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsAsyncClientHttpRequestFactory;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.web.client.AsyncRestTemplate;
+
+import com.estafet.microservices.scrum.lib.data.concurrent.Parallel;
+import com.estafet.microservices.scrum.lib.data.concurrent.SharedExecutors;
+
+public class AsyncHttpTransport implements HttpTransport {
+
+	private final CloseableHttpAsyncClient httpClient;
+
+	private final HttpComponentsAsyncClientHttpRequestFactory requestFactory;
+
+	private final AsyncRestTemplate restTemplate;
+
+	public AsyncHttpTransport() {
+		this(new RestClientConfig());
+	}
+
+	public AsyncHttpTransport(RestClientConfig config) {
+		this.httpClient = createHttpClient(config);
+		this.requestFactory = new HttpComponentsAsyncClientHttpRequestFactory(httpClient);
+		this.restTemplate = new AsyncRestTemplate(requestFactory);
+		RestClient.useSharedMapper(restTemplate.getMessageConverters());
+		restTemplate.setInterceptors(Collections.singletonList(new MetricsInterceptor()));
+	}
+
+	@Override
+	public <T> T get(String url, Class<T> type, Object... uriVariables) {
+		return await(restTemplate.getForEntity(url, type, uriVariables)).getBody();
+	}
+
+	@Override
+	public <T> List<T> getList(String url, ParameterizedTypeReference<List<T>> type, Object... uriVariables) {
+		return await(restTemplate.exchange(url, HttpMethod.GET, null, type, uriVariables)).getBody();
+	}
+
+	@Override
+	public <T> T getStream(String url, Function<InputStream, T> reader, Object... uriVariables) {
+		return await(executeStream(url, reader, uriVariables));
+	}
+
+	@Override
+	public <T> T post(String url, Object body, Class<T> type, Object... uriVariables) {
+		return await(restTemplate.postForEntity(url, entity(body), type, uriVariables)).getBody();
+	}
+
+	@Override
+	public <T> CompletableFuture<T> getAsync(String url, Class<T> type, Object... uriVariables) {
+		return toCompletableFuture(restTemplate.getForEntity(url, type, uriVariables)).thenApply(ResponseEntity::getBody);
+	}
+
+	@Override
+	public <T> CompletableFuture<List<T>> getListAsync(String url, ParameterizedTypeReference<List<T>> type, Object... uriVariables) {
+		return toCompletableFuture(restTemplate.exchange(url, HttpMethod.GET, null, type, uriVariables)).thenApply(ResponseEntity::getBody);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> getStreamAsync(String url, Function<InputStream, T> reader, Object... uriVariables) {
+		return toCompletableFuture(executeStream(url, reader, uriVariables));
+	}
+
+	@Override
+	public <T> CompletableFuture<T> postAsync(String url, Object body, Class<T> type, Object... uriVariables) {
+		return toCompletableFuture(restTemplate.postForEntity(url, entity(body), type, uriVariables)).thenApply(ResponseEntity::getBody);
+	}
+
+	@Override
+	public void close() {
+		try {
+			requestFactory.destroy();
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private <T> ListenableFuture<T> executeStream(String url, Function<InputStream, T> reader, Object... uriVariables) {
+		return restTemplate.execute(url, HttpMethod.GET,
+				request -> request.getHeaders().setAccept(Collections.singletonList(MediaType.APPLICATION_JSON)),
+				response -> reader.apply(response.getBody()), uriVariables);
+	}
+
+	private static HttpEntity<?> entity(Object body) {
+		return body instanceof HttpEntity ? (HttpEntity<?>) body : body != null ? new HttpEntity<Object>(body) : null;
+	}
+
+	private static <T> T await(ListenableFuture<T> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw Parallel.propagate(e.getCause());
+		}
+	}
+
+	private static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> future) {
+		CompletableFuture<T> result = new CompletableFuture<T>();
+		future.addCallback(value -> handOff(() -> result.complete(value), result),
+				failure -> handOff(() -> result.completeExceptionally(failure), result));
+		return result;
+	}
+
+	private static void handOff(Runnable completion, CompletableFuture<?> result) {
+		try {
+			SharedExecutors.executor().execute(completion);
+		} catch (RejectedExecutionException e) {
+			result.completeExceptionally(e);
+		}
+	}
+
+	private static CloseableHttpAsyncClient createHttpClient(RestClientConfig config) {
+		IOReactorConfig reactorConfig = IOReactorConfig.custom()
+				.setIoThreadCount(config.getIoThreads())
+				.setConnectTimeout(config.getConnectTimeoutMillis())
+				.setSoTimeout(config.getReadTimeoutMillis())
+				.build();
+		PoolingNHttpClientConnectionManager connectionManager;
+		try {
+			connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(reactorConfig));
+		} catch (IOReactorException e) {
+			throw new RuntimeException(e);
+		}
+		connectionManager.setMaxTotal(config.getMaxConnections());
+		connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerHost());
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectTimeout(config.getConnectTimeoutMillis())
+				.setSocketTimeout(config.getReadTimeoutMillis())
+				.setConnectionRequestTimeout(config.getConnectionRequestTimeoutMillis())
+				.build();
+		CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(requestConfig)
+				.build();
+		client.start();
+		return client;
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.estafet.microservices.scrum.lib.data.rest;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestTemplate;
+
+import com.estafet.microservices.scrum.lib.data.concurrent.SharedExecutors;
+
+public class BlockingHttpTransport implements HttpTransport {
+
+	private final RestTemplate restTemplate;
+
+	public BlockingHttpTransport() {
+		this(null);
+	}
+
+	public BlockingHttpTransport(RestTemplate restTemplate) {
+		this.restTemplate = restTemplate;
+	}
+
+	@Override
+	public <T> T get(String url, Class<T> type, Object... uriVariables) {
+		return restTemplate().getForObject(url, type, uriVariables);
+	}
+
+	@Override
+	public <T> List<T> getList(String url, ParameterizedTypeReference<List<T>> type, Object... uriVariables) {
+		return restTemplate().exchange(url, HttpMethod.GET, null, type, uriVariables).getBody();
+	}
+
+	@Override
+	public <T> T getStream(String url, Function<InputStream, T> reader, Object... uriVariables) {
+		return restTemplate().execute(url, HttpMethod.GET,
+				request -> request.getHeaders().setAccept(Collections.singletonList(MediaType.APPLICATION_JSON)),
+				response -> reader.apply(response.getBody()), uriVariables);
+	}
+
+	@Override
+	public <T> T post(String url, Object body, Class<T> type, Object... uriVariables) {
+		return restTemplate().postForObject(url, body, type, uriVariables);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> getAsync(String url, Class<T> type, Object... uriVariables) {
+		return CompletableFuture.supplyAsync(() -> get(url, type, uriVariables), SharedExecutors.executor());
+	}
+
+	@Override
+	public <T> CompletableFuture<List<T>> getListAsync(String url, ParameterizedTypeReference<List<T>> type, Object... uriVariables) {
+		return CompletableFuture.supplyAsync(() -> getList(url, type, uriVariables), SharedExecutors.executor());
+	}
+
+	@Override
+	public <T> CompletableFuture<T> getStreamAsync(String url, Function<InputStream, T> reader, Object... uriVariables) {
+		return CompletableFuture.supplyAsync(() -> getStream(url, reader, uriVariables), SharedExecutors.executor());
+	}
+
+	@Override
+	public <T> CompletableFuture<T> postAsync(String url, Object body, Class<T> type, Object... uriVariables) {
+		return CompletableFuture.supplyAsync(() -> post(url, body, type, uriVariables), SharedExecutors.executor());
+	}
+
+	@Override
+	public void close() {
+	}
+
+	private RestTemplate restTemplate() {
+		return restTemplate != null ? restTemplate : RestClient.instance();
+	}
+
+}
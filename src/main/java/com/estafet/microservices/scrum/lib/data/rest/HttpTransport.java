@@ -0,0 +1,30 @@
+package com.estafet.microservices.scrum.lib.data.rest;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.springframework.core.ParameterizedTypeReference;
+
+public interface HttpTransport {
+
+	<T> T get(String url, Class<T> type, Object... uriVariables);
+
+	<T> List<T> getList(String url, ParameterizedTypeReference<List<T>> type, Object... uriVariables);
+
+	<T> T getStream(String url, Function<InputStream, T> reader, Object... uriVariables);
+
+	<T> T post(String url, Object body, Class<T> type, Object... uriVariables);
+
+	<T> CompletableFuture<T> getAsync(String url, Class<T> type, Object... uriVariables);
+
+	<T> CompletableFuture<List<T>> getListAsync(String url, ParameterizedTypeReference<List<T>> type, Object... uriVariables);
+
+	<T> CompletableFuture<T> getStreamAsync(String url, Function<InputStream, T> reader, Object... uriVariables);
+
+	<T> CompletableFuture<T> postAsync(String url, Object body, Class<T> type, Object... uriVariables);
+
+	void close();
+
+}
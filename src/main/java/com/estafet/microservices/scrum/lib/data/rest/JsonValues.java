@@ -0,0 +1,23 @@
+package com.estafet.microservices.scrum.lib.data.rest;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+public final class JsonValues {
+
+	public static final int NO_VALUE = Integer.MIN_VALUE;
+
+	private JsonValues() {
+	}
+
+	public static int intValue(JsonParser parser, JsonToken token) throws IOException {
+		return token.isNumeric() ? parser.getIntValue() : NO_VALUE;
+	}
+
+	public static float floatValue(JsonParser parser, JsonToken token) throws IOException {
+		return token.isNumeric() ? parser.getFloatValue() : Float.NaN;
+	}
+
+}
@@ -0,0 +1,163 @@
+package com.estafet.microservices.scrum.lib.data.rest;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.AsyncClientHttpRequestExecution;
+import org.springframework.http.client.AsyncClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureAdapter;
+
+import com.estafet.microservices.scrum.lib.data.metrics.Metrics;
+import com.estafet.microservices.scrum.lib.data.metrics.MetricsRecorder;
+
+class MetricsInterceptor implements ClientHttpRequestInterceptor, AsyncClientHttpRequestInterceptor {
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+		if (!Metrics.isEnabled()) {
+			return execution.execute(request, body);
+		}
+		long start = System.nanoTime();
+		try {
+			return new CountingResponse(request, body, execution.execute(request, body), start);
+		} catch (IOException e) {
+			record(request, body, null, 0, start);
+			throw e;
+		}
+	}
+
+	@Override
+	public ListenableFuture<ClientHttpResponse> intercept(HttpRequest request, byte[] body, AsyncClientHttpRequestExecution execution)
+			throws IOException {
+		if (!Metrics.isEnabled()) {
+			return execution.executeAsync(request, body);
+		}
+		long start = System.nanoTime();
+		ListenableFuture<ClientHttpResponse> future = execution.executeAsync(request, body);
+		future.addCallback(response -> {}, failure -> record(request, body, null, 0, start));
+		return new ListenableFutureAdapter<ClientHttpResponse, ClientHttpResponse>(future) {
+
+			@Override
+			protected ClientHttpResponse adapt(ClientHttpResponse response) {
+				return new CountingResponse(request, body, response, start);
+			}
+
+		};
+	}
+
+	private static void record(HttpRequest request, byte[] body, ClientHttpResponse response, long responseBytes, long start) {
+		long nanos = System.nanoTime() - start;
+		MetricsRecorder recorder = Metrics.recorder();
+		String method = request.getMethod().name();
+		String endpoint = Metrics.endpoint(request.getURI().getPath());
+		if (response == null) {
+			recorder.recordHttpRequest(method, endpoint, 0, nanos, body.length, 0);
+			return;
+		}
+		int status;
+		try {
+			status = response.getRawStatusCode();
+		} catch (IOException e) {
+			status = 0;
+		}
+		recorder.recordHttpRequest(method, endpoint, status, nanos, body.length, responseBytes);
+	}
+
+	private static final class CountingResponse implements ClientHttpResponse {
+
+		private final HttpRequest request;
+
+		private final byte[] requestBody;
+
+		private final ClientHttpResponse response;
+
+		private final long start;
+
+		private long bytesRead;
+
+		private InputStream body;
+
+		private boolean closed;
+
+		CountingResponse(HttpRequest request, byte[] requestBody, ClientHttpResponse response, long start) {
+			this.request = request;
+			this.requestBody = requestBody;
+			this.response = response;
+			this.start = start;
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			if (body == null) {
+				body = new FilterInputStream(response.getBody()) {
+
+					@Override
+					public int read() throws IOException {
+						int b = super.read();
+						if (b >= 0) {
+							bytesRead++;
+						}
+						return b;
+					}
+
+					@Override
+					public int read(byte[] buffer, int offset, int length) throws IOException {
+						int n = super.read(buffer, offset, length);
+						if (n > 0) {
+							bytesRead += n;
+						}
+						return n;
+					}
+
+					@Override
+					public long skip(long n) throws IOException {
+						long skipped = super.skip(n);
+						bytesRead += skipped;
+						return skipped;
+					}
+
+				};
+			}
+			return body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return response.getHeaders();
+		}
+
+		@Override
+		public HttpStatus getStatusCode() throws IOException {
+			return response.getStatusCode();
+		}
+
+		@Override
+		public int getRawStatusCode() throws IOException {
+			return response.getRawStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return response.getStatusText();
+		}
+
+		@Override
+		public void close() {
+			if (!closed) {
+				closed = true;
+				record(request, requestBody, response, bytesRead, start);
+			}
+			response.close();
+		}
+
+	}
+
+}
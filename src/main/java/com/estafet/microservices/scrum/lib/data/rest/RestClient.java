@@ -0,0 +1,140 @@
+package com.estafet.microservices.scrum.lib.data.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public final class RestClient {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	private static RestClientConfig config = new RestClientConfig();
+
+	private static volatile RestTemplate restTemplate;
+
+	private static CloseableHttpClient httpClient;
+
+	private static volatile HttpTransport transport = new BlockingHttpTransport();
+
+	private RestClient() {
+	}
+
+	public static RestTemplate instance() {
+		RestTemplate result = restTemplate;
+		if (result == null) {
+			synchronized (RestClient.class) {
+				if (restTemplate == null) {
+					httpClient = createHttpClient(config);
+					restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+					useSharedMapper(restTemplate.getMessageConverters());
+					restTemplate.getInterceptors().add(new MetricsInterceptor());
+				}
+				result = restTemplate;
+			}
+		}
+		return result;
+	}
+
+	public static HttpTransport transport() {
+		return transport;
+	}
+
+	public static ObjectMapper mapper() {
+		return MAPPER;
+	}
+
+	public static <T> List<T> getForList(String url, ParameterizedTypeReference<List<T>> type, Object... uriVariables) {
+		return transport.getList(url, type, uriVariables);
+	}
+
+	public static <T> T getForStream(String url, Function<InputStream, T> reader, Object... uriVariables) {
+		return transport.getStream(url, reader, uriVariables);
+	}
+
+	public static synchronized void setTransport(HttpTransport transport) {
+		HttpTransport previous = RestClient.transport;
+		RestClient.transport = transport;
+		previous.close();
+	}
+
+	public static synchronized void useAsyncTransport() {
+		setTransport(new AsyncHttpTransport(config));
+	}
+
+	public static synchronized void useBlockingTransport() {
+		setTransport(new BlockingHttpTransport());
+	}
+
+	public static synchronized void configure(RestClientConfig config) {
+		RestClient.config = config;
+		reset();
+	}
+
+	public static synchronized void setRestTemplate(RestTemplate restTemplate) {
+		close();
+		RestClient.restTemplate = restTemplate;
+	}
+
+	public static synchronized void reset() {
+		close();
+		restTemplate = null;
+		if (transport instanceof AsyncHttpTransport) {
+			useAsyncTransport();
+		}
+	}
+
+	private static void close() {
+		try {
+			if (httpClient != null) {
+				httpClient.close();
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		} finally {
+			httpClient = null;
+		}
+	}
+
+	static void useSharedMapper(List<HttpMessageConverter<?>> converters) {
+		for (int i = 0; i < converters.size(); i++) {
+			if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+				converters.set(i, new MappingJackson2HttpMessageConverter(MAPPER));
+			}
+		}
+	}
+
+	private static CloseableHttpClient createHttpClient(RestClientConfig config) {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(config.getMaxConnections());
+		connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerHost());
+		connectionManager.setValidateAfterInactivity(2000);
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectTimeout(config.getConnectTimeoutMillis())
+				.setSocketTimeout(config.getReadTimeoutMillis())
+				.setConnectionRequestTimeout(config.getConnectionRequestTimeoutMillis())
+				.build();
+		return HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(requestConfig)
+				.evictExpiredConnections()
+				.evictIdleConnections(config.getIdleTimeoutMillis(), TimeUnit.MILLISECONDS)
+				.build();
+	}
+
+}
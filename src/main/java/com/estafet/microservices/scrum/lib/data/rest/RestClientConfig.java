@@ -0,0 +1,82 @@
+package com.estafet.microservices.scrum.lib.data.rest;
+
+public class RestClientConfig {
+
+	private int connectTimeoutMillis = 5000;
+
+	private int readTimeoutMillis = 30000;
+
+	private int connectionRequestTimeoutMillis = 5000;
+
+	private int maxConnections = 200;
+
+	private int maxConnectionsPerHost = 50;
+
+	private int idleTimeoutMillis = 30000;
+
+	private int ioThreads = 2;
+
+	public int getConnectTimeoutMillis() {
+		return connectTimeoutMillis;
+	}
+
+	public int getReadTimeoutMillis() {
+		return readTimeoutMillis;
+	}
+
+	public int getConnectionRequestTimeoutMillis() {
+		return connectionRequestTimeoutMillis;
+	}
+
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	public int getMaxConnectionsPerHost() {
+		return maxConnectionsPerHost;
+	}
+
+	public int getIdleTimeoutMillis() {
+		return idleTimeoutMillis;
+	}
+
+	public int getIoThreads() {
+		return ioThreads;
+	}
+
+	public RestClientConfig setConnectTimeoutMillis(int connectTimeoutMillis) {
+		this.connectTimeoutMillis = connectTimeoutMillis;
+		return this;
+	}
+
+	public RestClientConfig setReadTimeoutMillis(int readTimeoutMillis) {
+		this.readTimeoutMillis = readTimeoutMillis;
+		return this;
+	}
+
+	public RestClientConfig setConnectionRequestTimeoutMillis(int connectionRequestTimeoutMillis) {
+		this.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+		return this;
+	}
+
+	public RestClientConfig setMaxConnections(int maxConnections) {
+		this.maxConnections = maxConnections;
+		return this;
+	}
+
+	public RestClientConfig setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+		this.maxConnectionsPerHost = maxConnectionsPerHost;
+		return this;
+	}
+
+	public RestClientConfig setIdleTimeoutMillis(int idleTimeoutMillis) {
+		this.idleTimeoutMillis = idleTimeoutMillis;
+		return this;
+	}
+
+	public RestClientConfig setIoThreads(int ioThreads) {
+		this.ioThreads = ioThreads;
+		return this;
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.estafet.microservices.scrum.lib.data.rest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.estafet.microservices.scrum.lib.commons.properties.PropertyUtils;
+
+public final class ServiceUris {
+
+	public static final String PROJECT_API = "PROJECT_API_SERVICE_URI";
+
+	public static final String SPRINT_API = "SPRINT_API_SERVICE_URI";
+
+	public static final String STORY_API = "STORY_API_SERVICE_URI";
+
+	public static final String TASK_API = "TASK_API_SERVICE_URI";
+
+	public static final String PROJECT_BURNDOWN = "PROJECT_BURNDOWN_SERVICE_URI";
+
+	public static final String SPRINT_BURNDOWN = "SPRINT_BURNDOWN_SERVICE_URI";
+
+	private static final String[] ALL = { PROJECT_API, SPRINT_API, STORY_API, TASK_API, PROJECT_BURNDOWN, SPRINT_BURNDOWN };
+
+	private static final Map<String, String> overrides = new ConcurrentHashMap<String, String>();
+
+	private ServiceUris() {
+	}
+
+	public static String get(String name) {
+		String uri = overrides.get(name);
+		return uri != null ? uri : PropertyUtils.instance().getProperty(name);
+	}
+
+	public static void set(String name, String uri) {
+		overrides.put(name, uri);
+	}
+
+	public static void setAll(String uri) {
+		for (String name : ALL) {
+			set(name, uri);
+		}
+	}
+
+	public static Map<String, String> getOverrides() {
+		return new HashMap<String, String>(overrides);
+	}
+
+	public static void setOverrides(Map<String, String> uris) {
+		overrides.clear();
+		overrides.putAll(uris);
+	}
+
+	public static void clear() {
+		overrides.clear();
+	}
+
+}
@@ -1,20 +1,30 @@
 package com.estafet.microservices.scrum.lib.data.sprint;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
-import org.springframework.web.client.RestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
 
-import com.estafet.microservices.scrum.lib.commons.properties.PropertyUtils;
-import com.estafet.microservices.scrum.lib.commons.wait.WaitUntil;
-import com.estafet.microservices.scrum.lib.data.project.Project;
+import com.estafet.microservices.scrum.lib.data.readiness.Readiness;
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+import com.estafet.microservices.scrum.lib.data.rest.ServiceUris;
 import com.estafet.microservices.scrum.lib.data.story.Story;
+import com.estafet.microservices.scrum.lib.data.story.StoryIndex;
+import com.estafet.microservices.scrum.lib.data.trace.Tracer;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Sprint {
 
+	private static final int DEFAULT_PARALLELISM = 8;
+
+	private static final ParameterizedTypeReference<List<Sprint>> SPRINT_LIST = new ParameterizedTypeReference<List<Sprint>>() {
+	};
+
 	private Integer id;
 
 	private String startDate;
@@ -63,11 +73,25 @@ public class Sprint {
 	}
 	
 	public static Sprint getSprint(Integer sprintId) {
-		return new RestTemplate().getForObject(PropertyUtils.instance().getProperty("SPRINT_API_SERVICE_URI") + "/sprint/{id}",
-				Sprint.class, sprintId);
+		return Tracer.span("lookup sprint").arg("sprint", sprintId).call(() -> {
+			return RestClient.transport().get(ServiceUris.get(ServiceUris.SPRINT_API) + "/sprint/{id}",
+					Sprint.class, sprintId);
+		});
+	}
+	
+	public static List<Sprint> getProjectSprints(Integer projectId) {
+		return Tracer.span("lookup sprints").arg("project", projectId).call(() -> {
+			return RestClient.transport().getList(ServiceUris.get(ServiceUris.SPRINT_API) + "/project/{id}/sprints",
+					SPRINT_LIST, projectId);
+		});
 	}
 	
 	public Story getStory(int storyId) {
+		StoryIndex index = StoryIndex.instance();
+		if (index != null) {
+			Story story = index.getStory(projectId, storyId);
+			return story != null && id.equals(story.getSprintId()) ? story : null;
+		}
 		for (Story story : getStories()) {
 			if (story.getId() == storyId) {
 				return story;
@@ -78,15 +102,29 @@ public class Sprint {
 	
 	@JsonIgnore
 	public SprintBurndown getSprintBurndown() {
-		SprintBurndown burndown = new RestTemplate().getForObject(PropertyUtils.instance().getProperty("SPRINT_BURNDOWN_SERVICE_URI") + "/sprint/{id}/burndown",
+		SprintBurndown burndown = RestClient.transport().get(ServiceUris.get(ServiceUris.SPRINT_BURNDOWN) + "/sprint/{id}/burndown",
 				SprintBurndown.class, id);
 		return burndown;
 	}
 	
+	@JsonIgnore
+	public SprintBurndownSeries getSprintBurndownSeries() {
+		return getSprintBurndownSeries(id);
+	}
+
+	public static SprintBurndownSeries getSprintBurndownSeries(Integer sprintId) {
+		return RestClient.transport().getStream(ServiceUris.get(ServiceUris.SPRINT_BURNDOWN) + "/sprint/{id}/burndown",
+				SprintBurndownSeries::read, sprintId);
+	}
+
 	@JsonIgnore
 	public List<Story> getStories() {
+		StoryIndex index = StoryIndex.instance();
+		if (index != null) {
+			return index.getSprintStories(projectId, id);
+		}
 		List<Story> stories = new ArrayList<Story>();
-		for (Story story : Project.getProjectById(projectId).getStories()) {
+		for (Story story : Story.getProjectStories(projectId)) {
 			if (story.getSprintId() != null && story.getSprintId().equals(id)) {
 				stories.add(story);
 			}
@@ -95,14 +133,51 @@ public class Sprint {
 	}
 	
 	public void complete() {
-		for (Story story : getStories()) {
-			story.complete();
+		completeWithReport();
+	}
+
+	public SprintCompletionReport completeWithReport() {
+		return completeWithReport(DEFAULT_PARALLELISM);
+	}
+
+	public SprintCompletionReport completeWithReport(int parallelism) {
+		return Tracer.span("sprint completion").arg("sprint", id).call(() -> {
+			return completeStories(parallelism);
+		});
+	}
+
+	private SprintCompletionReport completeStories(int parallelism) {
+		long start = System.currentTimeMillis();
+		List<Story> stories = getStories();
+		long fetched = System.currentTimeMillis();
+		Story.completeTasks(stories, parallelism);
+		long completed = System.currentTimeMillis();
+		Set<Integer> pending = new HashSet<Integer>();
+		for (Story story : stories) {
+			pending.add(story.getId());
 		}
-		new WaitUntil() {
-			public boolean success() {
-				return Sprint.getSprint(id).getStatus().equals("Completed") && Sprint.getSprint(id+1) != null;
+		Sprint[] nextSprint = new Sprint[1];
+		Readiness.await("sprint completed", () -> {
+			for (Iterator<Integer> i = pending.iterator(); i.hasNext();) {
+				if (!Story.getStory(i.next()).getStatus().equals("Completed")) {
+					return false;
+				}
+				i.remove();
+			}
+			boolean sprintCompleted = false;
+			for (Sprint sprint : getProjectSprints(projectId)) {
+				if (sprint.getId().equals(id)) {
+					sprintCompleted = sprint.getStatus().equals("Completed");
+				} else if (sprint.getId().equals(id + 1)) {
+					nextSprint[0] = sprint;
+				}
 			}
-		}.start();
+			return sprintCompleted && nextSprint[0] != null;
+		});
+		Story.markCompleted(stories);
+		status = "Completed";
+		return new SprintCompletionReport(id, stories.size(), fetched - start, completed - fetched,
+				System.currentTimeMillis() - completed, nextSprint[0]);
 	}
 
 }
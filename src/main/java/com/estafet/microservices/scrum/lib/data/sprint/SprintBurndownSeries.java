@@ -0,0 +1,263 @@
+package com.estafet.microservices.scrum.lib.data.sprint;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import com.estafet.microservices.scrum.lib.data.rest.JsonValues;
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+public final class SprintBurndownSeries {
+
+	public static final int NO_VALUE = JsonValues.NO_VALUE;
+
+	private int id = NO_VALUE;
+
+	private int number = NO_VALUE;
+
+	private int size;
+
+	private int[] dayNo = new int[16];
+
+	private int[] hoursTotal = new int[16];
+
+	private float[] idealHours = new float[16];
+
+	private int[] sprintDay = new int[16];
+
+	private SprintBurndownSeries() {
+	}
+
+	public static SprintBurndownSeries read(InputStream in) {
+		try (JsonParser parser = RestClient.mapper().getFactory().createParser(in)) {
+			parser.nextToken();
+			return read(parser);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public static SprintBurndownSeries read(JsonParser parser) throws IOException {
+		if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+			throw new IOException("Expected a sprint burndown object but found " + parser.getCurrentToken());
+		}
+		SprintBurndownSeries series = new SprintBurndownSeries();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			if (field.equals("id")) {
+				series.id = JsonValues.intValue(parser, token);
+			} else if (field.equals("number")) {
+				series.number = JsonValues.intValue(parser, token);
+			} else if (field.equals("sprintDays") && token == JsonToken.START_ARRAY) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					series.readDay(parser);
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+		series.trim();
+		return series;
+	}
+
+	private void readDay(JsonParser parser) throws IOException {
+		if (size == dayNo.length) {
+			int capacity = size * 2;
+			dayNo = Arrays.copyOf(dayNo, capacity);
+			hoursTotal = Arrays.copyOf(hoursTotal, capacity);
+			idealHours = Arrays.copyOf(idealHours, capacity);
+			sprintDay = Arrays.copyOf(sprintDay, capacity);
+		}
+		int day = NO_VALUE;
+		int hours = NO_VALUE;
+		float ideal = Float.NaN;
+		int date = NO_VALUE;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			if (field.equals("dayNo")) {
+				day = JsonValues.intValue(parser, token);
+			} else if (field.equals("hoursTotal")) {
+				hours = JsonValues.intValue(parser, token);
+			} else if (field.equals("idealHours")) {
+				ideal = JsonValues.floatValue(parser, token);
+			} else if (field.equals("sprintDay")) {
+				date = token == JsonToken.VALUE_STRING ? epochDay(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())
+						: NO_VALUE;
+			} else {
+				parser.skipChildren();
+			}
+		}
+		dayNo[size] = day != NO_VALUE ? day : size + 1;
+		hoursTotal[size] = hours;
+		idealHours[size] = ideal;
+		sprintDay[size] = date;
+		size++;
+	}
+
+	private void trim() {
+		if (size < dayNo.length) {
+			dayNo = Arrays.copyOf(dayNo, size);
+			hoursTotal = Arrays.copyOf(hoursTotal, size);
+			idealHours = Arrays.copyOf(idealHours, size);
+			sprintDay = Arrays.copyOf(sprintDay, size);
+		}
+	}
+
+	private static int epochDay(char[] chars, int offset, int length) {
+		int year = 0;
+		int month = 0;
+		int day = 0;
+		int part = 0;
+		int digits = 0;
+		for (int i = offset; i < offset + length; i++) {
+			char c = chars[i];
+			if (c >= '0' && c <= '9') {
+				if (digits == 4) {
+					return NO_VALUE;
+				}
+				int digit = c - '0';
+				if (part == 0) {
+					year = year * 10 + digit;
+				} else if (part == 1) {
+					month = month * 10 + digit;
+				} else {
+					day = day * 10 + digit;
+				}
+				digits++;
+			} else if (c == '-' && digits > 0 && part < 2) {
+				part++;
+				digits = 0;
+			} else {
+				break;
+			}
+		}
+		if (part != 2 || digits == 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+			return NO_VALUE;
+		}
+		try {
+			return (int) LocalDate.of(year, month, day).toEpochDay();
+		} catch (DateTimeException e) {
+			return NO_VALUE;
+		}
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public int getNumber() {
+		return number;
+	}
+
+	public String getName() {
+		return "Sprint #" + number;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getDayNo(int day) {
+		return dayNo[day];
+	}
+
+	public int getHoursTotal(int day) {
+		return hoursTotal[day];
+	}
+
+	public boolean hasHoursTotal(int day) {
+		return hoursTotal[day] != NO_VALUE;
+	}
+
+	public float getIdealHours(int day) {
+		return idealHours[day];
+	}
+
+	public LocalDate getSprintDay(int day) {
+		return sprintDay[day] != NO_VALUE ? LocalDate.ofEpochDay(sprintDay[day]) : null;
+	}
+
+	public int getLastRecordedDay() {
+		for (int i = size - 1; i >= 0; i--) {
+			if (hoursTotal[i] != NO_VALUE) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public int getRemainingHours() {
+		int last = getLastRecordedDay();
+		return last >= 0 ? hoursTotal[last] : NO_VALUE;
+	}
+
+	public float getDeviationFromIdeal(int day) {
+		return hoursTotal[day] != NO_VALUE ? hoursTotal[day] - idealHours[day] : Float.NaN;
+	}
+
+	public float getDeviationFromIdeal() {
+		int last = getLastRecordedDay();
+		return last >= 0 ? getDeviationFromIdeal(last) : Float.NaN;
+	}
+
+	public float getMaxDeviationFromIdeal() {
+		float max = Float.NaN;
+		for (int i = 0; i < size; i++) {
+			float deviation = getDeviationFromIdeal(i);
+			if (!Float.isNaN(deviation) && (Float.isNaN(max) || deviation > max)) {
+				max = deviation;
+			}
+		}
+		return max;
+	}
+
+	public float getBurnRate() {
+		int first = -1;
+		int last = -1;
+		for (int i = 0; i < size; i++) {
+			if (hoursTotal[i] != NO_VALUE) {
+				if (first < 0) {
+					first = i;
+				}
+				last = i;
+			}
+		}
+		if (first < 0 || last == first) {
+			return 0f;
+		}
+		return (float) (hoursTotal[first] - hoursTotal[last]) / (dayNo[last] - dayNo[first]);
+	}
+
+	public int getProjectedCompletionDay() {
+		int last = getLastRecordedDay();
+		if (last < 0) {
+			return NO_VALUE;
+		}
+		if (hoursTotal[last] <= 0) {
+			return dayNo[last];
+		}
+		float burnRate = getBurnRate();
+		if (burnRate <= 0f) {
+			return NO_VALUE;
+		}
+		return dayNo[last] + (int) Math.ceil(hoursTotal[last] / burnRate);
+	}
+
+	public boolean isProjectedToComplete() {
+		int projected = getProjectedCompletionDay();
+		return projected != NO_VALUE && size > 0 && projected <= dayNo[size - 1];
+	}
+
+	@Override
+	public String toString() {
+		return getName() + ": " + size + " days, remaining " + getRemainingHours() + "h, burn rate " + getBurnRate()
+				+ "h/day, projected completion day " + getProjectedCompletionDay();
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.estafet.microservices.scrum.lib.data.sprint;
+
+public class SprintCompletionReport {
+
+	private final Integer sprintId;
+
+	private final int stories;
+
+	private final long fetchMillis;
+
+	private final long completeMillis;
+
+	private final long awaitMillis;
+
+	private final Sprint nextSprint;
+
+	SprintCompletionReport(Integer sprintId, int stories, long fetchMillis, long completeMillis, long awaitMillis, Sprint nextSprint) {
+		this.sprintId = sprintId;
+		this.stories = stories;
+		this.fetchMillis = fetchMillis;
+		this.completeMillis = completeMillis;
+		this.awaitMillis = awaitMillis;
+		this.nextSprint = nextSprint;
+	}
+
+	public Integer getSprintId() {
+		return sprintId;
+	}
+
+	public int getStories() {
+		return stories;
+	}
+
+	public long getFetchMillis() {
+		return fetchMillis;
+	}
+
+	public long getCompleteMillis() {
+		return completeMillis;
+	}
+
+	public long getAwaitMillis() {
+		return awaitMillis;
+	}
+
+	public long getTotalMillis() {
+		return fetchMillis + completeMillis + awaitMillis;
+	}
+
+	public Sprint getNextSprint() {
+		return nextSprint;
+	}
+
+	@Override
+	public String toString() {
+		return "Completed Sprint#" + sprintId + " with " + stories + " stories in " + getTotalMillis() + "ms"
+				+ " (fetch: " + fetchMillis + "ms, complete: " + completeMillis + "ms, await: " + awaitMillis + "ms)";
+	}
+
+}
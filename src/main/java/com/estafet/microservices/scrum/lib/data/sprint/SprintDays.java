@@ -0,0 +1,56 @@
+package com.estafet.microservices.scrum.lib.data.sprint;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.core.ParameterizedTypeReference;
+
+import com.estafet.microservices.scrum.lib.data.db.ServiceDatabases;
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+import com.estafet.microservices.scrum.lib.data.rest.ServiceUris;
+
+public final class SprintDays {
+
+	private static final ParameterizedTypeReference<List<String>> DAY_LIST = new ParameterizedTypeReference<List<String>>() {
+	};
+
+	private static final ConcurrentMap<Integer, List<String>> days = new ConcurrentHashMap<Integer, List<String>>();
+
+	static {
+		ServiceDatabases.addCleanListener(SprintDays::invalidate);
+	}
+
+	private SprintDays() {
+	}
+
+	public static List<String> getDays(Integer sprintId) {
+		if (sprintId == null) {
+			throw new IllegalArgumentException("Cannot look up the days of a sprint without an id.");
+		}
+		List<String> sprintDays = days.get(sprintId);
+		if (sprintDays == null) {
+			List<String> fetched = fetch(sprintId);
+			sprintDays = days.putIfAbsent(sprintId, fetched);
+			if (sprintDays == null) {
+				sprintDays = fetched;
+			}
+		}
+		return sprintDays;
+	}
+
+	public static String getLastDay(Integer sprintId) {
+		List<String> sprintDays = getDays(sprintId);
+		return sprintDays.get(sprintDays.size() - 1);
+	}
+
+	public static void invalidate() {
+		days.clear();
+	}
+
+	private static List<String> fetch(Integer sprintId) {
+		return RestClient.transport().getList(ServiceUris.get(ServiceUris.SPRINT_API) + "/sprint/{id}/days",
+				DAY_LIST, sprintId);
+	}
+
+}
@@ -1,21 +1,33 @@
 package com.estafet.microservices.scrum.lib.data.story;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
-import org.springframework.web.client.RestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
 
-import com.estafet.microservices.scrum.lib.commons.properties.PropertyUtils;
-import com.estafet.microservices.scrum.lib.commons.wait.WaitUntil;
+import com.estafet.microservices.scrum.lib.data.concurrent.Parallel;
 import com.estafet.microservices.scrum.lib.data.db.ServiceDatabases;
+import com.estafet.microservices.scrum.lib.data.readiness.Readiness;
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+import com.estafet.microservices.scrum.lib.data.rest.ServiceUris;
 import com.estafet.microservices.scrum.lib.data.task.Task;
+import com.estafet.microservices.scrum.lib.data.trace.Tracer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Story {
 
+	private static final int TASK_PARALLELISM = 8;
+
+	private static final ParameterizedTypeReference<List<Story>> STORY_LIST = new ParameterizedTypeReference<List<Story>>() {
+	};
+
+	private static final ParameterizedTypeReference<List<Task>> TASK_LIST = new ParameterizedTypeReference<List<Task>>() {
+	};
+
 	private int id;
 
 	private String title;
@@ -59,46 +71,83 @@ public class Story {
 	}
 
 	public static Story getStory(Integer storyId) {
-		return new RestTemplate().getForObject(PropertyUtils.instance().getProperty("STORY_API_SERVICE_URI") + "/story/{id}", Story.class,
+		return RestClient.transport().get(ServiceUris.get(ServiceUris.STORY_API) + "/story/{id}", Story.class,
 				storyId);
 	}
 
-	@SuppressWarnings("rawtypes")
+	public static List<Story> getProjectStories(Integer projectId) {
+		return Tracer.span("lookup stories").arg("project", projectId).call(() -> {
+			return RestClient.transport().getList(ServiceUris.get(ServiceUris.STORY_API) + "/project/{id}/stories",
+					STORY_LIST, projectId);
+		});
+	}
+
+	@JsonIgnore
 	public List<Task> getTasks() {
-		List objects = new RestTemplate().getForObject(PropertyUtils.instance().getProperty("TASK_API_SERVICE_URI") + "/story/{storyId}/tasks",
-				List.class, id);
-		List<Task> tasks = new ArrayList<Task>();
-		ObjectMapper mapper = new ObjectMapper();
-		for (Object object : objects) {
-			Task task = mapper.convertValue(object, new TypeReference<Task>() {
-			});
+		List<Task> tasks = RestClient.transport().getList(ServiceUris.get(ServiceUris.TASK_API) + "/story/{storyId}/tasks",
+				TASK_LIST, id);
+		for (Task task : tasks) {
 			task.setSprintId(sprintId);
-			tasks.add(task);
 		}
 		return tasks;
 	}
 
 	public void addToSprint(Integer sprintId) {
-		this.sprintId = sprintId;
-		new RestTemplate().postForObject(PropertyUtils.instance().getProperty("STORY_API_SERVICE_URI") + "/add-story-to-sprint",
-				new AddSprintStory().setSprintId(sprintId).setStoryId(id), Story.class);
-		new WaitUntil() {
-			public boolean success() {
-				return ServiceDatabases.exists("sprint-api", "story", "story_id", id);
-			}
-		}.start();
+		postAddToSprint(sprintId);
+		ServiceDatabases.waitFor("sprint-api", "story", "story_id", id);
 	}
 
-	public void complete() {
-		for (Task task : getTasks()) {
-			task.claim();
-			task.complete();
+	public static void addToSprint(Collection<Story> stories, Integer sprintId) {
+		List<Integer> storyIds = new ArrayList<Integer>();
+		for (Story story : stories) {
+			story.postAddToSprint(sprintId);
+			storyIds.add(story.getId());
 		}
-		new WaitUntil() {
-			public boolean success() {
-				return Story.getStory(id).getStatus().equals("Completed");
+		ServiceDatabases.waitForAll("sprint-api", "story", "story_id", storyIds);
+	}
+
+	private void postAddToSprint(Integer sprintId) {
+		Tracer.span("add to sprint POST").arg("story", id).arg("sprint", sprintId).run(() -> {
+			this.sprintId = sprintId;
+			RestClient.transport().post(ServiceUris.get(ServiceUris.STORY_API) + "/add-story-to-sprint",
+					new AddSprintStory().setSprintId(sprintId).setStoryId(id), Story.class);
+			StoryIndex.movedToSprint(this, sprintId);
+		});
+	}
+
+	public void complete() {
+		completeTasks();
+		Readiness.await("story completed", () -> Story.getStory(id).getStatus().equals("Completed"));
+		markCompleted();
+	}
+
+	public void completeTasks() {
+		completeTasks(Collections.singletonList(this), TASK_PARALLELISM);
+	}
+
+	public static void completeTasks(Collection<Story> stories, int parallelism) {
+		Tracer.span("complete tasks").arg("stories", stories.size()).run(() -> {
+			List<Task> tasks = new ArrayList<Task>();
+			for (List<Task> storyTasks : Parallel.map(new ArrayList<Story>(stories), parallelism, Story::getTasks)) {
+				tasks.addAll(storyTasks);
 			}
-		}.start();
+			Parallel.map(tasks, parallelism, task -> {
+				task.claim();
+				task.complete();
+				return task;
+			});
+		});
+	}
+
+	public static void markCompleted(Collection<Story> stories) {
+		for (Story story : stories) {
+			story.markCompleted();
+		}
+	}
+
+	private void markCompleted() {
+		status = "Completed";
+		StoryIndex.completed(this);
 	}
 
 	Story setTitle(String title) {
@@ -116,6 +165,11 @@ public class Story {
 		return this;
 	}
 
+	Story setStatus(String status) {
+		this.status = status;
+		return this;
+	}
+
 	Story setSprintId(Integer sprintId) {
 		this.sprintId = sprintId;
 		return this;
@@ -1,10 +1,13 @@
 package com.estafet.microservices.scrum.lib.data.story;
 
-import org.springframework.web.client.RestTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
-import com.estafet.microservices.scrum.lib.commons.properties.PropertyUtils;
-import com.estafet.microservices.scrum.lib.commons.wait.WaitUntil;
 import com.estafet.microservices.scrum.lib.data.db.ServiceDatabases;
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+import com.estafet.microservices.scrum.lib.data.rest.ServiceUris;
+import com.estafet.microservices.scrum.lib.data.trace.Tracer;
 
 public class StoryBuilder {
 
@@ -37,15 +40,46 @@ public class StoryBuilder {
 	}
 
 	public Story build() {
-		Story story = new RestTemplate().postForObject(PropertyUtils.instance().getProperty("STORY_API_SERVICE_URI") + "/project/{id}/story",
-				new Story().setDescription(description).setTitle(title).setStorypoints(storypoints),
-				Story.class, projectId);
-		new WaitUntil() {
-			public boolean success() {
-				return ServiceDatabases.exists("task-api", "story", "story_id", story.getId());
-			}
-		}.start();
+		Story story = post();
+		ServiceDatabases.waitFor("task-api", "story", "story_id", story.getId());
+		StoryIndex.added(projectId, story);
 		return story;		
 	}
 
+	public CompletableFuture<Story> buildAsync() {
+		return RestClient.transport().postAsync(url(), newStory(), Story.class, projectId)
+				.thenCompose(story -> ServiceDatabases.waitForAsync("task-api", "story", "story_id", story.getId())
+						.thenApply(ready -> {
+							StoryIndex.added(projectId, story);
+							return story;
+						}));
+	}
+
+	public static List<Story> buildAll(List<StoryBuilder> builders) {
+		List<Story> stories = new ArrayList<Story>();
+		List<Integer> storyIds = new ArrayList<Integer>();
+		for (StoryBuilder builder : builders) {
+			Story story = builder.post();
+			StoryIndex.added(builder.projectId, story);
+			stories.add(story);
+			storyIds.add(story.getId());
+		}
+		ServiceDatabases.waitForAll("task-api", "story", "story_id", storyIds);
+		return stories;
+	}
+
+	private Story post() {
+		return Tracer.span("story POST").arg("title", title).call(() -> {
+			return RestClient.transport().post(url(), newStory(), Story.class, projectId);
+		});
+	}
+
+	private String url() {
+		return ServiceUris.get(ServiceUris.STORY_API) + "/project/{id}/story";
+	}
+
+	private Story newStory() {
+		return new Story().setDescription(description).setTitle(title).setStorypoints(storypoints);
+	}
+
 }
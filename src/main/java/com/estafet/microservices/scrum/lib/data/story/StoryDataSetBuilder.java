@@ -1,17 +1,32 @@
 package com.estafet.microservices.scrum.lib.data.story;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-import com.estafet.microservices.scrum.lib.data.task.TaskBuilder;
+import com.estafet.microservices.scrum.lib.data.concurrent.Parallel;
+import com.estafet.microservices.scrum.lib.data.dataset.DataRow;
+import com.estafet.microservices.scrum.lib.data.dataset.DataSetErrors;
+import com.estafet.microservices.scrum.lib.data.dataset.RowSource;
+import com.estafet.microservices.scrum.lib.data.dataset.RowSources;
+import com.estafet.microservices.scrum.lib.data.task.Task;
+import com.estafet.microservices.scrum.lib.data.trace.Trace;
+import com.estafet.microservices.scrum.lib.data.trace.Tracer;
 
 public class StoryDataSetBuilder {
 
-	private List<List<String>> data;
+	private RowSource source;
 	
 	private Integer projectId;
+
+	private int parallelism = 1;
+
+	private Path traceFile;
 	
 	public StoryDataSetBuilder setProjectId(Integer projectId) {
 		this.projectId = projectId;
@@ -19,34 +34,106 @@ public class StoryDataSetBuilder {
 	}
 
 	public StoryDataSetBuilder setData(List<List<String>> data) {
-		this.data = data;
+		this.source = RowSources.of(data);
+		return this;
+	}
+
+	public StoryDataSetBuilder setSource(RowSource source) {
+		this.source = source;
+		return this;
+	}
+
+	public StoryDataSetBuilder setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	public StoryDataSetBuilder setTraceFile(Path traceFile) {
+		this.traceFile = traceFile;
 		return this;
 	}
 
 	public List<Story> build() {
 		List<Story> stories = new ArrayList<Story>();
-		Pattern p = Pattern.compile("(Task\\#\\d+)(\\s+)(\\[)(\\d+)(\\s+hours\\])");
-		for (int i = 1; i < data.size(); i++) {
-			String storyTitle = data.get(i).get(0);
-			Integer storypoints = Integer.parseInt(data.get(i).get(1));
-			Story story = new StoryBuilder()
-							.setProjectId(projectId)
-							.setTitle(storyTitle)
-							.setStorypoints(storypoints)
-							.build();
-			for (String task : data.get(i).get(2).split(",")) {
-				Matcher m = p.matcher(task.trim());
-				if (m.find()) {
-					new TaskBuilder()
-						.setInitialHours(Integer.parseInt(m.group(4)))
-						.setTitle(m.group(1))
-						.setStoryId(story.getId())
-						.build();		
+		build(stories::add);
+		return stories;
+	}
+
+	public void build(Consumer<? super Story> consumer) {
+		Trace trace = traceFile != null ? Tracer.begin("StoryDataSetBuilder project " + projectId) : null;
+		try {
+			List<StoryRow> rows = parseAll();
+			if (parallelism <= 1) {
+				for (StoryRow row : rows) {
+					consumer.accept(build(row));
 				}
+			} else {
+				Parallel.forEachAsync(rows.iterator(), parallelism, this::buildAsync, consumer);
 			}
-			stories.add(story);
+		} finally {
+			Tracer.end(trace, traceFile);
 		}
-		return stories;
 	}
-	
+
+	public void validate() {
+		parseAll();
+	}
+
+	private List<StoryRow> parseAll() {
+		return Tracer.span("validate").call(() -> {
+			List<StoryRow> rows = new ArrayList<StoryRow>();
+			DataSetErrors errors = new DataSetErrors();
+			try (Stream<DataRow> dataRows = source.rows()) {
+				dataRows.forEachOrdered(row -> rows.add(parse(row, errors)));
+			}
+			errors.throwIfAny();
+			return rows;
+		});
+	}
+
+	private static StoryRow parse(DataRow row, DataSetErrors errors) {
+		String title = errors.text(row, 0);
+		int storypoints = errors.number(row, 1, 0);
+		String tasks = row.getValues().size() > 2 && row.get(2) != null ? row.get(2) : "";
+		return new StoryRow(row.getNumber(), title, storypoints, TaskSpec.parseAll(tasks, row.getNumber(), 2, errors));
+	}
+
+	private Story build(StoryRow row) {
+		try {
+			return Tracer.span("row ", row.getNumber()).arg("title", row.getTitle()).call(() -> {
+				Story story = new StoryBuilder()
+								.setProjectId(projectId)
+								.setTitle(row.getTitle())
+								.setStorypoints(row.getStorypoints())
+								.build();
+				for (TaskSpec task : row.getTasks()) {
+					task.toBuilder().setStoryId(story.getId()).build();
+				}
+				return story;
+			});
+		} catch (RuntimeException e) {
+			throw new RuntimeException("Failed to build story row " + row.getNumber() + " '" + row.getTitle() + "'", e);
+		}
+	}
+
+	private CompletableFuture<Story> buildAsync(StoryRow row, BooleanSupplier cancelled) {
+		return new StoryBuilder()
+						.setProjectId(projectId)
+						.setTitle(row.getTitle())
+						.setStorypoints(row.getStorypoints())
+						.buildAsync()
+						.thenCompose(story -> {
+							List<CompletableFuture<Task>> tasks = new ArrayList<CompletableFuture<Task>>();
+							for (TaskSpec task : row.getTasks()) {
+								Parallel.checkCancelled(cancelled);
+								tasks.add(task.toBuilder().setStoryId(story.getId()).buildAsync());
+							}
+							return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[tasks.size()])).thenApply(done -> story);
+						})
+						.exceptionally(e -> {
+							throw new RuntimeException("Failed to build story row " + row.getNumber() + " '" + row.getTitle() + "'",
+									e instanceof CompletionException ? e.getCause() : e);
+						});
+	}
+
 }
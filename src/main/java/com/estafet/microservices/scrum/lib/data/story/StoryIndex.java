@@ -0,0 +1,169 @@
+package com.estafet.microservices.scrum.lib.data.story;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.estafet.microservices.scrum.lib.data.db.ServiceDatabases;
+
+public final class StoryIndex {
+
+	private static volatile StoryIndex instance;
+
+	static {
+		ServiceDatabases.addCleanListener(StoryIndex::invalidate);
+	}
+
+	private final ConcurrentMap<Integer, ProjectStories> projects = new ConcurrentHashMap<Integer, ProjectStories>();
+
+	private StoryIndex() {
+	}
+
+	public static synchronized void enable() {
+		if (instance == null) {
+			instance = new StoryIndex();
+		}
+	}
+
+	public static synchronized void disable() {
+		instance = null;
+	}
+
+	public static boolean isEnabled() {
+		return instance != null;
+	}
+
+	public static StoryIndex instance() {
+		return instance;
+	}
+
+	public static void invalidate() {
+		StoryIndex index = instance;
+		if (index != null) {
+			index.projects.clear();
+		}
+	}
+
+	public List<Story> getSprintStories(Integer projectId, Integer sprintId) {
+		return project(projectId).getSprintStories(sprintId);
+	}
+
+	public Story getStory(Integer projectId, Integer storyId) {
+		return project(projectId).getStory(storyId);
+	}
+
+	public void refresh(Integer projectId) {
+		projects.put(projectId, new ProjectStories(Story.getProjectStories(projectId)));
+	}
+
+	static void added(Integer projectId, Story story) {
+		StoryIndex index = instance;
+		if (index != null) {
+			ProjectStories stories = index.projects.get(projectId);
+			if (stories != null) {
+				stories.put(story);
+			}
+		}
+	}
+
+	static void movedToSprint(Story story, Integer sprintId) {
+		ProjectStories stories = indexed(story);
+		if (stories != null) {
+			stories.moveToSprint(story.getId(), sprintId);
+		}
+	}
+
+	static void completed(Story story) {
+		ProjectStories stories = indexed(story);
+		if (stories != null) {
+			stories.complete(story.getId());
+		}
+	}
+
+	private static ProjectStories indexed(Story story) {
+		StoryIndex index = instance;
+		if (index == null) {
+			return null;
+		}
+		if (story.getProjectId() != null) {
+			return index.projects.get(story.getProjectId());
+		}
+		for (ProjectStories stories : index.projects.values()) {
+			if (stories.getStory(story.getId()) != null) {
+				return stories;
+			}
+		}
+		return null;
+	}
+
+	private ProjectStories project(Integer projectId) {
+		return projects.computeIfAbsent(projectId, id -> new ProjectStories(Story.getProjectStories(id)));
+	}
+
+	private static class ProjectStories {
+
+		private final Map<Integer, Story> byId = new LinkedHashMap<Integer, Story>();
+
+		private final Map<Integer, Map<Integer, Story>> bySprint = new LinkedHashMap<Integer, Map<Integer, Story>>();
+
+		private final Map<Integer, Integer> sprintIds = new HashMap<Integer, Integer>();
+
+		ProjectStories(List<Story> stories) {
+			for (Story story : stories) {
+				put(story);
+			}
+		}
+
+		synchronized void put(Story story) {
+			byId.put(story.getId(), story);
+			removeFromSprint(story.getId());
+			addToSprint(story);
+		}
+
+		synchronized void moveToSprint(int storyId, Integer sprintId) {
+			Story story = byId.get(storyId);
+			if (story != null) {
+				removeFromSprint(storyId);
+				story.setSprintId(sprintId);
+				addToSprint(story);
+			}
+		}
+
+		synchronized void complete(int storyId) {
+			Story story = byId.get(storyId);
+			if (story != null) {
+				story.setStatus("Completed");
+			}
+		}
+
+		synchronized Story getStory(Integer storyId) {
+			return byId.get(storyId);
+		}
+
+		synchronized List<Story> getSprintStories(Integer sprintId) {
+			Map<Integer, Story> stories = bySprint.get(sprintId);
+			return stories == null ? Collections.<Story>emptyList() : new ArrayList<Story>(stories.values());
+		}
+
+		private void addToSprint(Story story) {
+			if (story.getSprintId() != null) {
+				bySprint.computeIfAbsent(story.getSprintId(), id -> new LinkedHashMap<Integer, Story>()).put(story.getId(), story);
+				sprintIds.put(story.getId(), story.getSprintId());
+			}
+		}
+
+		private void removeFromSprint(int storyId) {
+			Integer sprintId = sprintIds.remove(storyId);
+			if (sprintId != null) {
+				bySprint.get(sprintId).remove(storyId);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.estafet.microservices.scrum.lib.data.story;
+
+import java.util.List;
+
+public final class StoryRow {
+
+	private final int number;
+
+	private final String title;
+
+	private final int storypoints;
+
+	private final List<TaskSpec> tasks;
+
+	StoryRow(int number, String title, int storypoints, List<TaskSpec> tasks) {
+		this.number = number;
+		this.title = title;
+		this.storypoints = storypoints;
+		this.tasks = tasks;
+	}
+
+	public int getNumber() {
+		return number;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public int getStorypoints() {
+		return storypoints;
+	}
+
+	public List<TaskSpec> getTasks() {
+		return tasks;
+	}
+
+}
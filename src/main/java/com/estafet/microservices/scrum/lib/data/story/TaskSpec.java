@@ -0,0 +1,132 @@
+package com.estafet.microservices.scrum.lib.data.story;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.estafet.microservices.scrum.lib.data.dataset.DataSetErrors;
+import com.estafet.microservices.scrum.lib.data.task.TaskBuilder;
+
+public final class TaskSpec {
+
+	private static final String PREFIX = "Task#";
+
+	private static final String HOURS = "hours";
+
+	private final String title;
+
+	private final int initialHours;
+
+	TaskSpec(String title, int initialHours) {
+		this.title = title;
+		this.initialHours = initialHours;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public int getInitialHours() {
+		return initialHours;
+	}
+
+	public TaskBuilder toBuilder() {
+		return new TaskBuilder()
+			.setInitialHours(initialHours)
+			.setTitle(title);
+	}
+
+	public static List<TaskSpec> parseAll(String value) {
+		DataSetErrors errors = new DataSetErrors();
+		List<TaskSpec> specs = parseAll(value, 0, 0, errors);
+		errors.throwIfAny();
+		return specs;
+	}
+
+	static List<TaskSpec> parseAll(String value, int row, int column, DataSetErrors errors) {
+		List<TaskSpec> specs = null;
+		int length = value.length();
+		int start = 0;
+		while (start <= length) {
+			int end = value.indexOf(',', start);
+			if (end < 0) {
+				end = length;
+			}
+			int from = skipSpaces(value, start, end);
+			if (from < end) {
+				TaskSpec spec = parse(value, from, trimEnd(value, from, end));
+				if (spec != null) {
+					if (specs == null) {
+						specs = new ArrayList<TaskSpec>();
+					}
+					specs.add(spec);
+				} else {
+					errors.add(row, column, value.substring(from, trimEnd(value, from, end)), "expected 'Task#N [H hours]'");
+				}
+			}
+			start = end + 1;
+		}
+		return specs == null ? Collections.<TaskSpec>emptyList() : specs;
+	}
+
+	private static TaskSpec parse(String value, int from, int to) {
+		if (!value.startsWith(PREFIX, from)) {
+			return null;
+		}
+		int i = from + PREFIX.length();
+		int digits = skipDigits(value, i, to);
+		if (digits == i) {
+			return null;
+		}
+		int titleEnd = digits;
+		i = skipSpaces(value, digits, to);
+		if (i == titleEnd || i >= to || value.charAt(i) != '[') {
+			return null;
+		}
+		i = skipSpaces(value, i + 1, to);
+		digits = skipDigits(value, i, to);
+		if (digits == i || digits - i > 9) {
+			return null;
+		}
+		int hours = 0;
+		for (int d = i; d < digits; d++) {
+			hours = hours * 10 + (value.charAt(d) - '0');
+		}
+		i = skipSpaces(value, digits, to);
+		if (i == digits || !value.startsWith(HOURS, i)) {
+			return null;
+		}
+		i = skipSpaces(value, i + HOURS.length(), to);
+		if (i != to - 1 || value.charAt(i) != ']') {
+			return null;
+		}
+		return new TaskSpec(value.substring(from, titleEnd), hours);
+	}
+
+	private static int skipSpaces(String value, int i, int to) {
+		while (i < to && Character.isWhitespace(value.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	private static int skipDigits(String value, int i, int to) {
+		while (i < to && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+			i++;
+		}
+		return i;
+	}
+
+	private static int trimEnd(String value, int from, int to) {
+		while (to > from && Character.isWhitespace(value.charAt(to - 1))) {
+			to--;
+		}
+		return to;
+	}
+
+	@Override
+	public String toString() {
+		return title + " [" + initialHours + " hours]";
+	}
+
+}
@@ -1,10 +1,9 @@
 package com.estafet.microservices.scrum.lib.data.task;
 
-import java.util.List;
-
-import org.springframework.web.client.RestTemplate;
-
-import com.estafet.microservices.scrum.lib.commons.properties.PropertyUtils;
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+import com.estafet.microservices.scrum.lib.data.rest.ServiceUris;
+import com.estafet.microservices.scrum.lib.data.sprint.SprintDays;
+import com.estafet.microservices.scrum.lib.data.trace.Tracer;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -55,25 +54,22 @@ public class Task {
 	}
 	
 	public static Task getTask(Integer taskId) {
-		return new RestTemplate().getForObject(PropertyUtils.instance().getProperty("TASK_API_SERVICE_URI") + "/task/{id}",
+		return RestClient.transport().get(ServiceUris.get(ServiceUris.TASK_API) + "/task/{id}",
 				Task.class, taskId);
 	}
 	
-	@SuppressWarnings("unchecked")
-	private String getLastSprintDay() {
-		List<String> days = new RestTemplate().getForObject(PropertyUtils.instance().getProperty("SPRINT_API_SERVICE_URI") + "/sprint/{id}/days",
-				List.class, sprintId);
-		return days.get(days.size() - 1);
-	}
-	
 	public void claim() {
-		new RestTemplate().postForObject(PropertyUtils.instance().getProperty("TASK_API_SERVICE_URI") + "/task/{id}/claim", null,
-				Task.class, id);
+		Tracer.span("task claim POST").arg("task", id).run(() -> {
+			RestClient.transport().post(ServiceUris.get(ServiceUris.TASK_API) + "/task/{id}/claim", null,
+					Task.class, id);
+		});
 	}
 	
 	public void complete() {
-		new RestTemplate().postForObject(PropertyUtils.instance().getProperty("TASK_API_SERVICE_URI") + "/task/{id}/complete", getLastSprintDay(),
-				Task.class, id);
+		Tracer.span("task complete POST").arg("task", id).run(() -> {
+			RestClient.transport().post(ServiceUris.get(ServiceUris.TASK_API) + "/task/{id}/complete", SprintDays.getLastDay(sprintId),
+					Task.class, id);
+		});
 	}
 
 	Task setTitle(String title) {
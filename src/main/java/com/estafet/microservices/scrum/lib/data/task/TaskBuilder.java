@@ -1,10 +1,12 @@
 package com.estafet.microservices.scrum.lib.data.task;
 
-import org.springframework.web.client.RestTemplate;
+import java.util.concurrent.CompletableFuture;
 
-import com.estafet.microservices.scrum.lib.commons.properties.PropertyUtils;
-import com.estafet.microservices.scrum.lib.commons.wait.WaitUntil;
+import com.estafet.microservices.scrum.lib.data.readiness.Readiness;
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+import com.estafet.microservices.scrum.lib.data.rest.ServiceUris;
 import com.estafet.microservices.scrum.lib.data.story.Story;
+import com.estafet.microservices.scrum.lib.data.trace.Tracer;
 
 public class TaskBuilder {
 
@@ -17,18 +19,35 @@ public class TaskBuilder {
 	private Integer storyId;
 
 	public Task build() {
-		Task task = new RestTemplate().postForObject(PropertyUtils.instance().getProperty("TASK_API_SERVICE_URI") + "/story/{id}/task",
-				new Task().setTitle(title).setDescription(description).setInitialHours(initialHours), Task.class,
-				storyId);
-		new WaitUntil() {
-			public boolean success() {
-				Story story = Story.getStory(storyId);
-				return story.getStatus().equals("In Progress") || story.getStatus().equals("Planning");
-			}
-		}.start();
+		Task task = post();
+		Readiness.await("story has tasks", this::storyHasTasks);
 		return task;
 	}
 
+	public CompletableFuture<Task> buildAsync() {
+		return RestClient.transport().postAsync(url(), newTask(), Task.class, storyId)
+				.thenCompose(task -> Readiness.awaitAsync("story has tasks", this::storyHasTasks).thenApply(ready -> task));
+	}
+
+	private Task post() {
+		return Tracer.span("task POST").arg("story", storyId).call(() -> {
+			return RestClient.transport().post(url(), newTask(), Task.class, storyId);
+		});
+	}
+
+	private String url() {
+		return ServiceUris.get(ServiceUris.TASK_API) + "/story/{id}/task";
+	}
+
+	private Task newTask() {
+		return new Task().setTitle(title).setDescription(description).setInitialHours(initialHours);
+	}
+
+	private boolean storyHasTasks() {
+		Story story = Story.getStory(storyId);
+		return story.getStatus().equals("In Progress") || story.getStatus().equals("Planning");
+	}
+
 	public TaskBuilder setTitle(String title) {
 		this.title = title;
 		return this;
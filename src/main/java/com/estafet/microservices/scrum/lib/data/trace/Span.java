@@ -0,0 +1,59 @@
+package com.estafet.microservices.scrum.lib.data.trace;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class Span implements AutoCloseable {
+
+	static final Span NOOP = new Span(null, null);
+
+	private final Trace trace;
+
+	private final String name;
+
+	private final long startNanos = System.nanoTime();
+
+	private final Thread thread = Thread.currentThread();
+
+	private Map<String, Object> args;
+
+	Span(Trace trace, String name) {
+		this.trace = trace;
+		this.name = name;
+	}
+
+	public Span arg(String key, Object value) {
+		if (trace != null) {
+			if (args == null) {
+				args = new LinkedHashMap<String, Object>();
+			}
+			args.put(key, value);
+		}
+		return this;
+	}
+
+	public void run(Runnable body) {
+		try {
+			body.run();
+		} finally {
+			close();
+		}
+	}
+
+	public <T> T call(Supplier<T> body) {
+		try {
+			return body.get();
+		} finally {
+			close();
+		}
+	}
+
+	@Override
+	public void close() {
+		if (trace != null) {
+			trace.record(name, startNanos, System.nanoTime(), thread, args);
+		}
+	}
+
+}
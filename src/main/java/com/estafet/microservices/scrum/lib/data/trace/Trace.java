@@ -0,0 +1,86 @@
+package com.estafet.microservices.scrum.lib.data.trace;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+
+public class Trace {
+
+	private final String name;
+
+	private final long startNanos = System.nanoTime();
+
+	private final Queue<Map<String, Object>> events = new ConcurrentLinkedQueue<Map<String, Object>>();
+
+	private final Map<Long, String> threads = new ConcurrentHashMap<Long, String>();
+
+	Trace(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getSpanCount() {
+		return events.size();
+	}
+
+	void record(String spanName, long spanStartNanos, long spanEndNanos, Thread thread, Map<String, Object> args) {
+		Map<String, Object> event = new LinkedHashMap<String, Object>();
+		event.put("name", spanName);
+		event.put("cat", "scrum-data");
+		event.put("ph", "X");
+		event.put("ts", (spanStartNanos - startNanos) / 1000.0);
+		event.put("dur", (spanEndNanos - spanStartNanos) / 1000.0);
+		event.put("pid", 1);
+		event.put("tid", thread.getId());
+		if (args != null) {
+			event.put("args", args);
+		}
+		events.add(event);
+		threads.putIfAbsent(thread.getId(), thread.getName());
+	}
+
+	public void write(Path file) {
+		List<Map<String, Object>> traceEvents = new ArrayList<Map<String, Object>>();
+		traceEvents.add(metadata("process_name", 0, name));
+		for (Map.Entry<Long, String> thread : threads.entrySet()) {
+			traceEvents.add(metadata("thread_name", thread.getKey(), thread.getValue()));
+		}
+		traceEvents.addAll(events);
+		Map<String, Object> trace = new LinkedHashMap<String, Object>();
+		trace.put("traceEvents", traceEvents);
+		trace.put("displayTimeUnit", "ms");
+		try {
+			if (file.getParent() != null) {
+				Files.createDirectories(file.getParent());
+			}
+			RestClient.mapper().writeValue(file.toFile(), trace);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static Map<String, Object> metadata(String metadataName, long tid, String value) {
+		Map<String, Object> event = new LinkedHashMap<String, Object>();
+		event.put("name", metadataName);
+		event.put("ph", "M");
+		event.put("pid", 1);
+		event.put("tid", tid);
+		Map<String, Object> args = new LinkedHashMap<String, Object>();
+		args.put("name", value);
+		event.put("args", args);
+		return event;
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.estafet.microservices.scrum.lib.data.trace;
+
+import java.nio.file.Path;
+
+public final class Tracer {
+
+	private static volatile Trace active;
+
+	private static volatile Span root;
+
+	private Tracer() {
+	}
+
+	public static synchronized Trace begin(String name) {
+		if (active != null) {
+			return null;
+		}
+		Trace trace = new Trace(name);
+		active = trace;
+		root = new Span(trace, name);
+		return trace;
+	}
+
+	public static synchronized void end(Trace trace, Path file) {
+		if (trace == null || trace != active) {
+			return;
+		}
+		root.close();
+		active = null;
+		root = null;
+		trace.write(file);
+	}
+
+	public static boolean isActive() {
+		return active != null;
+	}
+
+	public static Span span(String name) {
+		Trace trace = active;
+		return trace != null ? new Span(trace, name) : Span.NOOP;
+	}
+
+	public static Span span(String prefix, Object detail) {
+		Trace trace = active;
+		return trace != null ? new Span(trace, prefix + detail) : Span.NOOP;
+	}
+
+}
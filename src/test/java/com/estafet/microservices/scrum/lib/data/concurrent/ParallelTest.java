@@ -0,0 +1,167 @@
+package com.estafet.microservices.scrum.lib.data.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Test;
+
+public class ParallelTest {
+
+	@Test
+	public void mapKeepsInputOrder() {
+		List<Integer> squares = Parallel.map(numbers(50), 8, i -> {
+			sleep(50 - i);
+			return i * i;
+		});
+		for (int i = 0; i < 50; i++) {
+			assertEquals(Integer.valueOf(i * i), squares.get(i));
+		}
+	}
+
+	@Test
+	public void mapRunsInlineWithoutParallelism() {
+		Thread caller = Thread.currentThread();
+		List<Boolean> inline = Parallel.map(numbers(3), 1, i -> Thread.currentThread() == caller);
+		assertEquals(Collections.nCopies(3, true), inline);
+	}
+
+	@Test
+	public void mapPropagatesTheFirstFailure() {
+		try {
+			Parallel.map(numbers(20), 4, i -> {
+				if (i == 3) {
+					throw new IllegalStateException("row " + i);
+				}
+				return i;
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("row 3", e.getMessage());
+		}
+	}
+
+	@Test
+	public void forEachAsyncConsumesInOrderWithinTheWindow() {
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger peak = new AtomicInteger();
+		List<Integer> consumed = new ArrayList<Integer>();
+		Parallel.forEachAsync(numbers(40).iterator(), 5, (Integer i, BooleanSupplier cancelled) -> {
+			peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			return CompletableFuture.supplyAsync(() -> {
+				sleep(5);
+				inFlight.decrementAndGet();
+				return i;
+			}, SharedExecutors.executor());
+		}, consumed::add);
+		assertEquals(numbers(40), consumed);
+		assertTrue(peak.get() <= 5);
+	}
+
+	@Test
+	public void forEachAsyncStopsInnerStagesAfterAFailure() {
+		AtomicInteger innerStages = new AtomicInteger();
+		CompletableFuture<Void> release = new CompletableFuture<Void>();
+		List<CompletableFuture<Integer>> inner = new ArrayList<CompletableFuture<Integer>>();
+		try {
+			Parallel.forEachAsync(numbers(10).iterator(), 10, (Integer i, BooleanSupplier cancelled) -> {
+				if (i == 0) {
+					return CompletableFuture.supplyAsync(() -> {
+						sleep(50);
+						throw new IllegalStateException("row 0");
+					}, SharedExecutors.executor());
+				}
+				CompletableFuture<Integer> stage = release.thenApplyAsync(ready -> {
+					Parallel.checkCancelled(cancelled);
+					innerStages.incrementAndGet();
+					return i;
+				}, SharedExecutors.executor());
+				inner.add(stage);
+				return stage.thenApply(value -> value);
+			}, i -> {
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("row 0", e.getMessage());
+		}
+		release.complete(null);
+		for (CompletableFuture<Integer> stage : inner) {
+			try {
+				stage.join();
+				fail();
+			} catch (CompletionException e) {
+				assertTrue(e.getCause() instanceof CancellationException);
+			}
+		}
+		assertEquals(0, innerStages.get());
+	}
+
+	@Test
+	public void forEachAsyncCancelsWhenTheConsumerThrows() {
+		List<BooleanSupplier> flags = new ArrayList<BooleanSupplier>();
+		try {
+			Parallel.forEachAsync(numbers(5).iterator(), 2, (Integer i, BooleanSupplier cancelled) -> {
+				flags.add(cancelled);
+				return CompletableFuture.completedFuture(i);
+			}, i -> {
+				throw new IllegalArgumentException();
+			});
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(flags.get(0).getAsBoolean());
+		}
+	}
+
+	@Test
+	public void forEachAsyncDoesNotCancelOnSuccess() {
+		List<BooleanSupplier> flags = new ArrayList<BooleanSupplier>();
+		Parallel.forEachAsync(numbers(5).iterator(), 2, (Integer i, BooleanSupplier cancelled) -> {
+			flags.add(cancelled);
+			return CompletableFuture.completedFuture(i);
+		}, i -> {
+		});
+		assertFalse(flags.get(0).getAsBoolean());
+	}
+
+	@Test(expected = CancellationException.class)
+	public void checkCancelledThrowsOnceCancelled() {
+		Parallel.checkCancelled(() -> false);
+		Parallel.checkCancelled(() -> true);
+	}
+
+	@Test
+	public void propagateUnwrapsRuntimeExceptions() {
+		IllegalStateException failure = new IllegalStateException();
+		assertEquals(failure, Parallel.propagate(failure));
+		Exception checked = new Exception();
+		assertEquals(checked, Parallel.propagate(checked).getCause());
+	}
+
+	private static List<Integer> numbers(int count) {
+		List<Integer> numbers = new ArrayList<Integer>();
+		for (int i = 0; i < count; i++) {
+			numbers.add(i);
+		}
+		return numbers;
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		}
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.estafet.microservices.scrum.lib.data.dataset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class DataSetErrorsTest {
+
+	@Test
+	public void textReturnsTheValue() {
+		DataSetErrors errors = new DataSetErrors();
+		assertEquals("Story", errors.text(new DataRow(1, Arrays.asList("Story")), 0));
+		assertTrue(errors.isEmpty());
+	}
+
+	@Test
+	public void blankOrMissingTextIsAnError() {
+		DataSetErrors errors = new DataSetErrors();
+		assertNull(errors.text(new DataRow(1, Arrays.asList("  ")), 0));
+		assertNull(errors.text(new DataRow(2, Arrays.asList("a")), 1));
+		assertEquals(2, errors.getErrors().size());
+		assertEquals("row 1, column 1: missing value", errors.getErrors().get(0).toString());
+		assertEquals("row 2, column 2: missing value", errors.getErrors().get(1).toString());
+	}
+
+	@Test
+	public void numberParsesAndChecksTheMinimum() {
+		DataSetErrors errors = new DataSetErrors();
+		assertEquals(5, errors.number(new DataRow(1, Arrays.asList(" 5 ")), 0, 1));
+		assertEquals(-1, errors.number(new DataRow(2, Arrays.asList("0")), 0, 1));
+		assertEquals(-1, errors.number(new DataRow(3, Arrays.asList("1.5")), 0, 1));
+		assertEquals(2, errors.getErrors().size());
+		assertEquals("row 2, column 1: expected a number of at least 1 (was '0')", errors.getErrors().get(0).toString());
+		assertEquals("row 3, column 1: expected a whole number (was '1.5')", errors.getErrors().get(1).toString());
+	}
+
+	@Test
+	public void throwIfAnyListsEveryError() {
+		DataSetErrors errors = new DataSetErrors();
+		errors.throwIfAny();
+		errors.add(1, 0, "x", "bad");
+		errors.add(2, 1, "y", "worse");
+		try {
+			errors.throwIfAny();
+			fail();
+		} catch (DataSetException e) {
+			assertEquals(2, e.getErrors().size());
+			assertTrue(e.getMessage().startsWith("Data set has 2 invalid values"));
+			assertTrue(e.getMessage().contains("row 2, column 2: worse (was 'y')"));
+		}
+	}
+
+	@Test
+	public void exceptionMessageIsCapped() {
+		List<DataSetError> list = new ArrayList<DataSetError>();
+		for (int i = 1; i <= 60; i++) {
+			list.add(new DataSetError(i, 1, null, "bad"));
+		}
+		DataSetException e = new DataSetException(list);
+		assertEquals(60, e.getErrors().size());
+		assertTrue(e.getMessage().endsWith("... and 10 more"));
+		assertFalse(e.getMessage().contains("row 51,"));
+	}
+
+}
@@ -0,0 +1,102 @@
+package com.estafet.microservices.scrum.lib.data.dataset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RowSourcesTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void parseCsvSplitsOnCommas() {
+		assertEquals(Arrays.asList("a", "b", "c"), RowSources.parseCsv("a,b,c"));
+	}
+
+	@Test
+	public void parseCsvKeepsEmptyValues() {
+		assertEquals(Arrays.asList("", "b", ""), RowSources.parseCsv(",b,"));
+	}
+
+	@Test
+	public void parseCsvKeepsCommasInsideQuotes() {
+		assertEquals(Arrays.asList("Story 1", "3", "Task#1 [3 hours], Task#2 [5 hours]"),
+				RowSources.parseCsv("Story 1,3,\"Task#1 [3 hours], Task#2 [5 hours]\""));
+	}
+
+	@Test
+	public void parseCsvUnescapesDoubledQuotes() {
+		assertEquals(Arrays.asList("say \"hi\"", "x"), RowSources.parseCsv("\"say \"\"hi\"\"\",x"));
+	}
+
+	@Test
+	public void ofIteratorCanBeReadOnce() {
+		Iterator<DataRow> iterator = Arrays.asList(new DataRow(1, Arrays.asList("A", "1")), new DataRow(2, Arrays.asList("B", "2"))).iterator();
+		RowSource source = RowSources.of(iterator);
+		try (Stream<DataRow> rows = source.rows()) {
+			assertEquals(Arrays.asList(1, 2), rows.map(DataRow::getNumber).collect(Collectors.toList()));
+		}
+		try {
+			source.rows();
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("Rows from an iterator or stream can only be read once.", e.getMessage());
+		}
+	}
+
+	@Test
+	public void ofSkipsTheHeaderRow() {
+		List<List<String>> data = Arrays.asList(
+				Arrays.asList("title", "points"),
+				Arrays.asList("A", "1"),
+				Arrays.asList("B", "2"));
+		try (Stream<DataRow> rows = RowSources.of(data).rows()) {
+			List<DataRow> list = rows.collect(Collectors.toList());
+			assertEquals(2, list.size());
+			assertEquals(1, list.get(0).getNumber());
+			assertEquals("B", list.get(1).get(0));
+		}
+	}
+
+	@Test
+	public void csvSkipsTheHeaderAndBlankLinesAndKeepsLineNumbers() throws IOException {
+		Path file = folder.newFile("stories.csv").toPath();
+		Files.write(file, Arrays.asList("title,points,tasks", "A,1,", "", "B,2,\"Task#1 [3 hours]\""), StandardCharsets.UTF_8);
+		try (Stream<DataRow> rows = RowSources.csv(file).rows()) {
+			List<DataRow> list = rows.collect(Collectors.toList());
+			assertEquals(2, list.size());
+			assertEquals(1, list.get(0).getNumber());
+			assertEquals(Arrays.asList("A", "1", ""), list.get(0).getValues());
+			assertEquals(3, list.get(1).getNumber());
+			assertEquals("Task#1 [3 hours]", list.get(1).get(2));
+		}
+	}
+
+	@Test
+	public void csvCanBeStreamedMoreThanOnce() throws IOException {
+		Path file = folder.newFile("twice.csv").toPath();
+		Files.write(file, Arrays.asList("title,points", "A,1", "B,2"), StandardCharsets.UTF_8);
+		RowSource source = RowSources.csv(file);
+		try (Stream<DataRow> rows = source.rows()) {
+			assertEquals(2, rows.count());
+		}
+		try (Stream<DataRow> rows = source.rows()) {
+			assertEquals(2, rows.count());
+		}
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.estafet.microservices.scrum.lib.data.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.estafet.microservices.scrum.lib.data.fake.FakeScrumServer;
+import com.estafet.microservices.scrum.lib.data.project.Project;
+import com.estafet.microservices.scrum.lib.data.project.ProjectBuilder;
+import com.estafet.microservices.scrum.lib.data.readiness.Readiness;
+import com.estafet.microservices.scrum.lib.data.readiness.ReadinessPolicy;
+import com.estafet.microservices.scrum.lib.data.readiness.ReadinessTimeoutException;
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+import com.estafet.microservices.scrum.lib.data.rest.ServiceUris;
+import com.estafet.microservices.scrum.lib.data.story.Story;
+import com.estafet.microservices.scrum.lib.data.story.StoryBuilder;
+
+public class ServiceDatabasesTest {
+
+	private FakeScrumServer fake;
+
+	private Project project;
+
+	@Before
+	public void start() {
+		fake = new FakeScrumServer().setConsistencyLagMillis(100).start();
+		project = new ProjectBuilder().setTitle("P").setNoSprints(3).setSprintLengthDays(5).build();
+	}
+
+	@After
+	public void stop() {
+		fake.stop();
+	}
+
+	@Test
+	public void existsAllOfNothingIsAllPresent() {
+		ExistsAllResult result = ServiceDatabases.existsAll("task-api", "story", "story_id", Collections.<Integer>emptyList());
+		assertTrue(result.getPresent().isEmpty());
+		assertTrue(result.getMissing().isEmpty());
+		assertTrue(result.isAllPresent());
+	}
+
+	@Test
+	public void existsAllReportsTheMissingIds() {
+		List<Integer> ids = new ArrayList<Integer>();
+		for (int i = 0; i < 3; i++) {
+			ids.add(new StoryBuilder().setProjectId(project.getId()).setTitle("S" + i).setStorypoints(1).build().getId());
+		}
+		List<Integer> queried = new ArrayList<Integer>(ids);
+		queried.add(1, 998);
+		queried.add(999);
+		ExistsAllResult result = ServiceDatabases.existsAll("task-api", "story", "story_id", queried);
+		assertEquals(ids, new ArrayList<Integer>(result.getPresent()));
+		assertEquals(Arrays.asList(998, 999), new ArrayList<Integer>(result.getMissing()));
+		assertFalse(result.isAllPresent());
+	}
+
+	@Test
+	public void waitForAllOfNothingReturnsAtOnce() {
+		ServiceDatabases.waitForAll("task-api", "story", "story_id", Collections.<Integer>emptyList());
+	}
+
+	@Test
+	public void waitForAllWaitsForRowsThatAppearLater() {
+		List<Integer> ids = new ArrayList<Integer>();
+		for (int i = 0; i < 5; i++) {
+			ids.add(postStory("S" + i).getId());
+		}
+		assertFalse(ServiceDatabases.existsAll("task-api", "story", "story_id", ids).isAllPresent());
+		ServiceDatabases.waitForAll("task-api", "story", "story_id", ids);
+		assertTrue(ServiceDatabases.existsAll("task-api", "story", "story_id", ids).isAllPresent());
+	}
+
+	@Test
+	public void waitForAllTimesOutWhenARowNeverAppears() {
+		Integer id = postStory("S").getId();
+		ReadinessPolicy previous = Readiness.getPolicy("task-api story");
+		Readiness.setPolicy("task-api story", new ReadinessPolicy().setInitialDelayMillis(20).setTimeoutMillis(500));
+		try {
+			ServiceDatabases.waitForAll("task-api", "story", "story_id", Arrays.asList(id, 999));
+			fail();
+		} catch (ReadinessTimeoutException e) {
+			assertTrue(fake.exists("task-api", "story", "story_id", id));
+		} finally {
+			Readiness.setPolicy("task-api story", previous);
+		}
+	}
+
+	private Story postStory(String title) {
+		Map<String, Object> story = new LinkedHashMap<String, Object>();
+		story.put("title", title);
+		story.put("storypoints", 1);
+		return RestClient.transport().post(ServiceUris.get(ServiceUris.STORY_API) + "/project/{id}/story", story, Story.class,
+				project.getId());
+	}
+
+}
@@ -0,0 +1,176 @@
+package com.estafet.microservices.scrum.lib.data.fake;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.estafet.microservices.scrum.lib.data.concurrent.Parallel;
+import com.estafet.microservices.scrum.lib.data.db.RowExistenceProbe;
+import com.estafet.microservices.scrum.lib.data.db.ServiceDatabases;
+import com.estafet.microservices.scrum.lib.data.project.Project;
+import com.estafet.microservices.scrum.lib.data.project.ProjectBuilder;
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+import com.estafet.microservices.scrum.lib.data.rest.ServiceUris;
+import com.estafet.microservices.scrum.lib.data.sprint.Sprint;
+import com.estafet.microservices.scrum.lib.data.story.Story;
+import com.estafet.microservices.scrum.lib.data.story.StoryBuilder;
+import com.estafet.microservices.scrum.lib.data.task.TaskBuilder;
+
+public class FakeScrumServerTest {
+
+	private FakeScrumServer fake;
+
+	@After
+	public void stop() {
+		if (fake != null) {
+			fake.stop();
+		}
+	}
+
+	@Test
+	public void startPointsTheServicesAtTheFake() {
+		fake = new FakeScrumServer().start();
+		assertEquals(fake.getUri(), ServiceUris.get(ServiceUris.PROJECT_API));
+		assertEquals(fake.getUri(), ServiceUris.get(ServiceUris.SPRINT_BURNDOWN));
+	}
+
+	@Test
+	public void newProjectStartsWithAnActiveSprint() {
+		fake = new FakeScrumServer().start();
+		Project project = new ProjectBuilder().setTitle("P").setNoSprints(3).setSprintLengthDays(5).build();
+		List<Sprint> sprints = project.getSprints();
+		assertEquals(1, sprints.size());
+		assertEquals("Active", sprints.get(0).getStatus());
+		assertEquals(Integer.valueOf(1), sprints.get(0).getNumber());
+		assertEquals(5, Sprint.getSprint(sprints.get(0).getId()).getNoDays().intValue());
+		assertTrue(fake.exists("project-burndown", "project_burndown", "project_id", project.getId()));
+		assertTrue(fake.exists("sprint-burndown", "sprint", "sprint_id", sprints.get(0).getId()));
+	}
+
+	@Test
+	public void completingTheStoriesCompletesTheSprint() {
+		fake = new FakeScrumServer().start();
+		Project project = new ProjectBuilder().setTitle("P").setNoSprints(3).setSprintLengthDays(5).build();
+		Story story = new StoryBuilder().setProjectId(project.getId()).setTitle("S").setStorypoints(3).build();
+		new TaskBuilder().setStoryId(story.getId()).setTitle("T").setInitialHours(4).build();
+		Sprint sprint = project.getActiveSprint();
+		story.addToSprint(sprint.getId());
+		assertEquals("Planning", Story.getStory(story.getId()).getStatus());
+		sprint.complete();
+		assertEquals("Completed", Story.getStory(story.getId()).getStatus());
+		assertEquals("Completed", Sprint.getSprint(sprint.getId()).getStatus());
+		assertEquals(2, Sprint.getProjectSprints(project.getId()).size());
+		assertEquals(Integer.valueOf(2), project.getActiveSprint().getNumber());
+	}
+
+	@Test
+	public void readingASprintDoesNotChangeIt() {
+		fake = new FakeScrumServer().start();
+		Project project = new ProjectBuilder().setTitle("P").setNoSprints(3).setSprintLengthDays(5).build();
+		Sprint first = project.getSprints().get(0);
+		assertEquals("Active", Sprint.getSprint(first.getId()).getStatus());
+		assertEquals("Active", Sprint.getSprint(first.getId()).getStatus());
+		assertEquals(1, Sprint.getProjectSprints(project.getId()).size());
+	}
+
+	@Test
+	public void stopRestoresThePreviousConfiguration() {
+		ServiceUris.set(ServiceUris.PROJECT_API, "http://projects");
+		RowExistenceProbe probe = (service, table, key, value) -> true;
+		ServiceDatabases.setProbe(probe);
+		try {
+			fake = new FakeScrumServer().start();
+			assertEquals(fake.getUri(), ServiceUris.get(ServiceUris.PROJECT_API));
+			assertEquals("true", System.getProperty("sun.net.httpserver.nodelay"));
+			fake.stop();
+			fake = null;
+			assertEquals("http://projects", ServiceUris.get(ServiceUris.PROJECT_API));
+			assertSame(probe, ServiceDatabases.getProbe());
+			assertNull(System.getProperty("sun.net.httpserver.nodelay"));
+		} finally {
+			ServiceUris.clear();
+			ServiceDatabases.setProbe(null);
+		}
+	}
+
+	@Test
+	public void unknownEntitiesAreNotFound() {
+		fake = new FakeScrumServer().start();
+		try {
+			RestClient.transport().get(ServiceUris.get(ServiceUris.STORY_API) + "/story/{id}", Story.class, 999);
+			fail();
+		} catch (HttpClientErrorException e) {
+			assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+		}
+	}
+
+	@Test
+	public void resetClearsEverything() {
+		fake = new FakeScrumServer().start();
+		new ProjectBuilder().setTitle("P").setNoSprints(3).setSprintLengthDays(5).build();
+		fake.reset();
+		assertTrue(Project.getProjects().isEmpty());
+		assertFalse(fake.exists("project-burndown", "project_burndown", "project_id", 1));
+		assertEquals(Integer.valueOf(1), new ProjectBuilder().setTitle("Q").setNoSprints(3).setSprintLengthDays(5).build().getId());
+	}
+
+	@Test
+	public void consistencyLagDelaysVisibility() throws InterruptedException {
+		fake = new FakeScrumServer().setConsistencyLagMillis(200).start();
+		Project project = RestClient.transport().post(ServiceUris.get(ServiceUris.PROJECT_API) + "/project", newProject("P"), Project.class);
+		assertFalse(fake.exists("project-burndown", "project_burndown", "project_id", project.getId()));
+		assertTrue(project.getSprints().isEmpty());
+		Thread.sleep(1000);
+		assertTrue(fake.exists("project-burndown", "project_burndown", "project_id", project.getId()));
+		assertEquals(1, project.getSprints().size());
+	}
+
+	@Test
+	public void concurrentRequestsGetDistinctIds() {
+		fake = new FakeScrumServer().setLatencyMillis(5).setThreads(16).start();
+		Project project = new ProjectBuilder().setTitle("P").setNoSprints(3).setSprintLengthDays(5).build();
+		List<Integer> indexes = new ArrayList<Integer>();
+		for (int i = 0; i < 100; i++) {
+			indexes.add(i);
+		}
+		List<Story> stories = Parallel.map(indexes, 16, i -> RestClient.transport().post(
+				ServiceUris.get(ServiceUris.STORY_API) + "/project/{id}/story", newStory("S" + i), Story.class, project.getId()));
+		Set<Integer> ids = new HashSet<Integer>();
+		for (Story story : stories) {
+			ids.add(story.getId());
+		}
+		assertEquals(100, ids.size());
+		assertEquals(100, Story.getProjectStories(project.getId()).size());
+	}
+
+	private static Map<String, Object> newProject(String title) {
+		Map<String, Object> project = new LinkedHashMap<String, Object>();
+		project.put("title", title);
+		project.put("noSprints", 3);
+		project.put("sprintLengthDays", 5);
+		return project;
+	}
+
+	private static Map<String, Object> newStory(String title) {
+		Map<String, Object> story = new LinkedHashMap<String, Object>();
+		story.put("title", title);
+		story.put("storypoints", 1);
+		return story;
+	}
+
+}
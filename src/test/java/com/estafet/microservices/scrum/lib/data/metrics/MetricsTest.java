@@ -0,0 +1,131 @@
+package com.estafet.microservices.scrum.lib.data.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.estafet.microservices.scrum.lib.data.fake.FakeScrumServer;
+import com.estafet.microservices.scrum.lib.data.project.Project;
+import com.estafet.microservices.scrum.lib.data.rest.AsyncHttpTransport;
+import com.estafet.microservices.scrum.lib.data.rest.BlockingHttpTransport;
+import com.estafet.microservices.scrum.lib.data.rest.HttpTransport;
+import com.estafet.microservices.scrum.lib.data.story.Story;
+
+public class MetricsTest {
+
+	private FakeScrumServer fake;
+
+	private InMemoryMetricsRecorder metrics;
+
+	@Before
+	public void start() {
+		fake = new FakeScrumServer().start();
+		metrics = new InMemoryMetricsRecorder();
+		Metrics.setRecorder(metrics);
+	}
+
+	@After
+	public void stop() {
+		Metrics.disable();
+		fake.stop();
+	}
+
+	@Test
+	public void endpointReplacesNumericSegments() {
+		assertEquals("/story/{id}/tasks", Metrics.endpoint("/story/42/tasks"));
+		assertEquals("/project/{id}", Metrics.endpoint("/project/7"));
+		assertEquals("/projects", Metrics.endpoint("/projects"));
+		assertEquals("/task/{id}/claim", Metrics.endpoint("/task/1/claim"));
+		assertEquals("/v2/story", Metrics.endpoint("/v2/story"));
+	}
+
+	@Test
+	public void disableRestoresTheNoopRecorder() {
+		assertTrue(Metrics.isEnabled());
+		Metrics.disable();
+		assertFalse(Metrics.isEnabled());
+		Metrics.setRecorder(null);
+		assertFalse(Metrics.isEnabled());
+	}
+
+	@Test
+	public void blockingTransportCountsResponseBytes() {
+		assertResponseBytesCounted(new BlockingHttpTransport());
+	}
+
+	@Test
+	public void asyncTransportCountsResponseBytes() {
+		assertResponseBytesCounted(new AsyncHttpTransport());
+	}
+
+	@Test
+	public void blockingTransportRecordsErrors() {
+		assertErrorRecorded(new BlockingHttpTransport());
+	}
+
+	@Test
+	public void asyncTransportRecordsErrors() {
+		assertErrorRecorded(new AsyncHttpTransport());
+	}
+
+	private void assertResponseBytesCounted(HttpTransport transport) {
+		try {
+			Project project = transport.post(fake.getUri() + "/project", newProject(), Project.class);
+			InMemoryMetricsRecorder.HttpEndpoint post = metrics.getHttpEndpoints().get("POST /project");
+			assertEquals(1, post.getLatency().getCount());
+			assertTrue(post.getRequestBytes() > 0);
+			assertTrue(post.getResponseBytes() > 0);
+			long read = transport.getStream(fake.getUri() + "/projects", MetricsTest::count);
+			assertTrue(read > 0);
+			assertEquals(read, metrics.getHttpEndpoints().get("GET /projects").getResponseBytes());
+			transport.get(fake.getUri() + "/project/{id}/sprints", String.class, project.getId());
+			assertEquals(1, metrics.getHttpEndpoints().get("GET /project/{id}/sprints").getLatency().getCount());
+		} finally {
+			transport.close();
+		}
+	}
+
+	private void assertErrorRecorded(HttpTransport transport) {
+		try {
+			transport.get(fake.getUri() + "/story/{id}", Story.class, 999);
+			fail();
+		} catch (HttpClientErrorException e) {
+			assertEquals(1, metrics.getHttpEndpoints().get("GET /story/{id}").getErrors());
+		} finally {
+			transport.close();
+		}
+	}
+
+	private static Map<String, Object> newProject() {
+		Map<String, Object> project = new LinkedHashMap<String, Object>();
+		project.put("title", "P");
+		project.put("noSprints", 3);
+		project.put("sprintLengthDays", 5);
+		return project;
+	}
+
+	private static long count(InputStream in) {
+		try {
+			long bytes = 0;
+			byte[] buffer = new byte[7];
+			for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+				bytes += n;
+			}
+			return bytes;
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.estafet.microservices.scrum.lib.data.project;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.estafet.microservices.scrum.lib.data.fake.FakeScrumServer;
+import com.estafet.microservices.scrum.lib.data.sprint.Sprint;
+import com.estafet.microservices.scrum.lib.data.sprint.SprintBurndownSeries;
+import com.estafet.microservices.scrum.lib.data.story.Story;
+import com.estafet.microservices.scrum.lib.data.story.StoryBuilder;
+import com.estafet.microservices.scrum.lib.data.task.TaskBuilder;
+
+public class PortfolioBurndownFetcherTest {
+
+	private FakeScrumServer fake;
+
+	private List<Project> projects;
+
+	@Before
+	public void start() {
+		fake = new FakeScrumServer().setLatencyMillis(5).start();
+		projects = new ArrayList<Project>();
+		for (int i = 0; i < 4; i++) {
+			projects.add(new ProjectBuilder().setTitle("P" + i).setNoSprints(3).setSprintLengthDays(5).build());
+		}
+		Project first = projects.get(0);
+		Story story = new StoryBuilder().setProjectId(first.getId()).setTitle("S").setStorypoints(3).build();
+		new TaskBuilder().setStoryId(story.getId()).setTitle("T").setInitialHours(4).build();
+		Sprint sprint = first.getActiveSprint();
+		story.addToSprint(sprint.getId());
+		sprint.complete();
+	}
+
+	@After
+	public void stop() {
+		fake.stop();
+	}
+
+	@Test
+	public void fetchesEveryProjectAndSprint() {
+		PortfolioBurndown portfolio = new PortfolioBurndownFetcher().setProjects(projects).setParallelism(4).fetch();
+		assertTrue(portfolio.isComplete());
+		assertEquals(4, portfolio.getProjectBurndowns().size());
+		assertEquals(5, portfolio.getSprintBurndownCount());
+		ProjectBurndownSeries first = portfolio.getProjectBurndown(projects.get(0).getId());
+		assertEquals("P0", first.getTitle());
+		assertEquals(2, first.size());
+		List<SprintBurndownSeries> sprints = portfolio.getSprintBurndowns(projects.get(0).getId());
+		assertEquals(2, sprints.size());
+		assertEquals(1, sprints.get(0).getNumber());
+		assertEquals(2, sprints.get(1).getNumber());
+	}
+
+	@Test
+	public void missingProjectIsReportedAlongsideTheOthers() {
+		PortfolioBurndown portfolio = new PortfolioBurndownFetcher()
+				.setProjectIds(Arrays.asList(projects.get(0).getId(), 999, projects.get(1).getId()))
+				.fetch();
+		assertFalse(portfolio.isComplete());
+		assertEquals(1, portfolio.getFailures().size());
+		BurndownFailure failure = portfolio.getFailures().get(0);
+		assertEquals(Integer.valueOf(999), failure.getProjectId());
+		assertFalse(failure.isSprintFailure());
+		assertTrue(failure.getCause() instanceof HttpClientErrorException);
+		assertEquals(HttpStatus.NOT_FOUND, ((HttpClientErrorException) failure.getCause()).getStatusCode());
+		assertEquals(Arrays.asList(projects.get(0).getId(), projects.get(1).getId()),
+				new ArrayList<Integer>(portfolio.getProjectBurndowns().keySet()));
+		assertNull(portfolio.getProjectBurndown(999));
+		assertTrue(portfolio.getSprintBurndowns(999).isEmpty());
+		assertEquals(2, portfolio.getSprintBurndowns(projects.get(0).getId()).size());
+	}
+
+	@Test
+	public void resultsFollowTheRequestedOrder() {
+		List<Integer> ids = new ArrayList<Integer>();
+		for (int i = projects.size() - 1; i >= 0; i--) {
+			ids.add(projects.get(i).getId());
+		}
+		PortfolioBurndown portfolio = new PortfolioBurndownFetcher().setProjectIds(ids).setParallelism(4).fetch();
+		assertEquals(ids, new ArrayList<Integer>(portfolio.getProjectBurndowns().keySet()));
+		for (Integer id : ids) {
+			assertEquals(id.intValue(), portfolio.getProjectBurndown(id).getId());
+		}
+	}
+
+	@Test
+	public void sprintsCanBeLeftOut() {
+		PortfolioBurndown portfolio = new PortfolioBurndownFetcher().setProjects(projects).setIncludeSprints(false).fetch();
+		assertEquals(4, portfolio.getProjectBurndowns().size());
+		assertEquals(0, portfolio.getSprintBurndownCount());
+	}
+
+}
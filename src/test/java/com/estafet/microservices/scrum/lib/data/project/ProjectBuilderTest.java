@@ -0,0 +1,106 @@
+package com.estafet.microservices.scrum.lib.data.project;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.estafet.microservices.scrum.lib.data.fake.FakeScrumServer;
+import com.estafet.microservices.scrum.lib.data.sprint.Sprint;
+import com.estafet.microservices.scrum.lib.data.story.Story;
+import com.estafet.microservices.scrum.lib.data.story.StoryBuilder;
+import com.estafet.microservices.scrum.lib.data.task.TaskBuilder;
+
+public class ProjectBuilderTest {
+
+	private FakeScrumServer fake;
+
+	@Before
+	public void start() {
+		fake = new FakeScrumServer().setLatencyMillis(5).setConsistencyLagMillis(20).start();
+	}
+
+	@After
+	public void stop() {
+		ProjectCache.disable();
+		fake.stop();
+	}
+
+	@Test
+	public void buildAsyncCompletesADependentGraph() {
+		Project project = new ProjectBuilder().setTitle("P").setNoSprints(3).setSprintLengthDays(5).buildAsync()
+				.thenCompose(created -> {
+					List<CompletableFuture<Story>> stories = new ArrayList<CompletableFuture<Story>>();
+					for (int i = 0; i < 4; i++) {
+						stories.add(new StoryBuilder().setProjectId(created.getId()).setTitle("S" + i).setStorypoints(2).buildAsync()
+								.thenCompose(story -> new TaskBuilder().setStoryId(story.getId()).setTitle("T1").buildAsync()
+										.thenCompose(task -> new TaskBuilder().setStoryId(story.getId()).setTitle("T2").buildAsync())
+										.thenApply(task -> story)));
+					}
+					return CompletableFuture.allOf(stories.toArray(new CompletableFuture<?>[stories.size()])).thenApply(done -> created);
+				})
+				.join();
+		List<Sprint> sprints = project.getSprints();
+		assertEquals(1, sprints.size());
+		assertEquals("Active", sprints.get(0).getStatus());
+		assertTrue(fake.exists("sprint-burndown", "sprint", "sprint_id", sprints.get(0).getId()));
+		List<Story> stories = Story.getProjectStories(project.getId());
+		assertEquals(4, stories.size());
+		for (Story story : stories) {
+			assertTrue(fake.exists("task-api", "story", "story_id", story.getId()));
+			assertEquals("Planning", story.getStatus());
+			assertEquals(2, story.getTasks().size());
+		}
+	}
+
+	@Test
+	public void newProjectWaitAsyncWaitsForTheFirstSprint() {
+		Project project = new ProjectBuilder().setTitle("P").setNoSprints(3).setSprintLengthDays(5).buildAsync().join();
+		assertEquals(1, project.getSprints().size());
+		assertTrue(fake.exists("project-burndown", "project_burndown", "project_burndown_id", project.getId()));
+		assertTrue(fake.exists("sprint-burndown", "sprint", "sprint_id", project.getSprints().get(0).getId()));
+	}
+
+	@Test
+	public void failingStoryPostCompletesExceptionally() {
+		assertNotFound(new StoryBuilder().setProjectId(999).setTitle("S").setStorypoints(1).buildAsync());
+	}
+
+	@Test
+	public void failingTaskPostCompletesExceptionally() {
+		assertNotFound(new TaskBuilder().setStoryId(999).setTitle("T").buildAsync());
+	}
+
+	@Test
+	public void buildAsyncInvalidatesTheProjectCache() {
+		ProjectCache.enable();
+		new ProjectBuilder().setTitle("P").setNoSprints(3).setSprintLengthDays(5).build();
+		assertNull(Project.getProjectByTitle("New"));
+		Project created = new ProjectBuilder().setTitle("New").setNoSprints(3).setSprintLengthDays(5).buildAsync().join();
+		assertNotNull(Project.getProjectByTitle("New"));
+		assertEquals(created.getId(), Project.getProjectByTitle("New").getId());
+	}
+
+	private static void assertNotFound(CompletableFuture<?> future) {
+		try {
+			future.join();
+			fail();
+		} catch (CompletionException e) {
+			assertTrue(e.getCause() instanceof HttpClientErrorException);
+			assertEquals(HttpStatus.NOT_FOUND, ((HttpClientErrorException) e.getCause()).getStatusCode());
+		}
+	}
+
+}
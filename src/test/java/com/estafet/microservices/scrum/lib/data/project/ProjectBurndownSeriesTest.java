@@ -0,0 +1,103 @@
+package com.estafet.microservices.scrum.lib.data.project;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class ProjectBurndownSeriesTest {
+
+	@Test
+	public void readsColumns() {
+		ProjectBurndownSeries series = read(sprint(1, 16, "15.0", "Completed") + "," + sprint(2, 10, "10.0", "Active"));
+		assertEquals(3, series.getId());
+		assertEquals("P", series.getTitle());
+		assertEquals(2, series.size());
+		assertEquals(11, series.getSprintId(1));
+		assertEquals(2, series.getNumber(1));
+		assertEquals(10, series.getPointsTotal(1));
+		assertEquals(10f, series.getIdealPointsTotal(1), 0f);
+		assertEquals("Active", series.getStatus(1));
+		assertTrue(series.isCompleted(0));
+		assertFalse(series.isCompleted(1));
+	}
+
+	@Test
+	public void analyticsUseCompletedSprints() {
+		ProjectBurndownSeries series = read(sprint(1, 16, "15.0", "Completed") + "," + sprint(2, 10, "10.0", "Completed") + ","
+				+ sprint(3, 10, "5.0", "Active") + "," + sprint(4, 10, "0.0", "Not Started"));
+		assertEquals(20, series.getInitialPoints());
+		assertEquals(2, series.getCompletedSprints());
+		assertEquals(1, series.getLastCompletedSprint());
+		assertEquals(1, series.getLastRecordedSprint());
+		assertEquals(10, series.getRemainingPoints());
+		assertEquals(4, series.getPointsCompleted(0));
+		assertEquals(6, series.getPointsCompleted(1));
+		assertEquals(5f, series.getVelocity(), 0f);
+		assertEquals(0f, series.getDeviationFromIdeal(), 0f);
+		assertEquals(2, series.getProjectedSprintsRemaining());
+		assertEquals(4, series.getProjectedCompletionSprint());
+		assertTrue(series.isProjectedToComplete());
+	}
+
+	@Test
+	public void missingTotalsStayOutOfTheArithmetic() {
+		ProjectBurndownSeries series = read(sprint(1, 16, "15.0", "Completed") + "," + sprint(2, null, "10.0", "Completed") + ","
+				+ sprint(3, 8, "5.0", "Completed") + "," + sprint(4, null, "0.0", "Active"));
+		assertFalse(series.hasPointsTotal(1));
+		assertEquals(0, series.getPointsCompleted(1));
+		assertEquals(8, series.getPointsCompleted(2));
+		assertEquals(0, series.getPointsCompleted(3));
+		assertEquals(2, series.getLastRecordedSprint());
+		assertEquals(8, series.getRemainingPoints());
+		assertEquals(6f, series.getVelocity(), 0f);
+		assertTrue(Float.isNaN(series.getDeviationFromIdeal(1)));
+		assertEquals(2, series.getProjectedSprintsRemaining());
+		assertEquals(5, series.getProjectedCompletionSprint());
+		assertFalse(series.isProjectedToComplete());
+	}
+
+	@Test
+	public void missingFirstTotalFallsBackToTheIdealLine() {
+		ProjectBurndownSeries series = read(sprint(1, null, "15.0", "Completed") + "," + sprint(2, 12, "10.0", "Completed"));
+		assertEquals(20, series.getInitialPoints());
+		assertEquals(0, series.getPointsCompleted(0));
+		assertEquals(8, series.getPointsCompleted(1));
+		assertEquals(8f, series.getVelocity(), 0f);
+	}
+
+	@Test
+	public void noCompletedSprintsHasNoProjection() {
+		ProjectBurndownSeries series = read(sprint(1, null, null, "Active") + "," + sprint(2, null, null, "Not Started"));
+		assertEquals(0, series.getInitialPoints());
+		assertEquals(-1, series.getLastRecordedSprint());
+		assertEquals(0, series.getRemainingPoints());
+		assertEquals(0f, series.getVelocity(), 0f);
+		assertTrue(Float.isNaN(series.getDeviationFromIdeal()));
+		assertEquals(0, series.getProjectedSprintsRemaining());
+	}
+
+	@Test
+	public void remainingPointsWithoutVelocityHaveNoProjection() {
+		ProjectBurndownSeries series = read(sprint(1, 20, "15.0", "Active") + "," + sprint(2, null, "10.0", "Not Started"));
+		assertEquals(20, series.getRemainingPoints());
+		assertEquals(ProjectBurndownSeries.NO_VALUE, series.getProjectedSprintsRemaining());
+		assertEquals(ProjectBurndownSeries.NO_VALUE, series.getProjectedCompletionSprint());
+		assertFalse(series.isProjectedToComplete());
+	}
+
+	private static String sprint(int number, Integer pointsTotal, String idealPointsTotal, String status) {
+		return "{\"id\":" + (9 + number) + ",\"number\":" + number + ",\"pointsTotal\":" + pointsTotal + ",\"idealPointsTotal\":"
+				+ idealPointsTotal + ",\"status\":\"" + status + "\"}";
+	}
+
+	private static ProjectBurndownSeries read(String sprints) {
+		String json = "{\"id\":3,\"title\":\"P\",\"sprints\":[" + sprints + "]}";
+		return ProjectBurndownSeries.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+	}
+
+}
@@ -0,0 +1,124 @@
+package com.estafet.microservices.scrum.lib.data.project;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.estafet.microservices.scrum.lib.data.fake.FakeScrumServer;
+import com.estafet.microservices.scrum.lib.data.metrics.InMemoryMetricsRecorder;
+import com.estafet.microservices.scrum.lib.data.metrics.Metrics;
+
+public class ProjectCacheTest {
+
+	private FakeScrumServer fake;
+
+	private InMemoryMetricsRecorder metrics;
+
+	@Before
+	public void start() {
+		fake = new FakeScrumServer().start();
+		metrics = new InMemoryMetricsRecorder();
+		Metrics.setRecorder(metrics);
+	}
+
+	@After
+	public void stop() {
+		ProjectCache.disable();
+		Metrics.disable();
+		fake.stop();
+	}
+
+	@Test
+	public void disabledLookupsAlwaysFetch() {
+		Project project = build("P");
+		metrics.reset();
+		assertFalse(ProjectCache.isEnabled());
+		assertEquals(project.getId(), Project.getProjectByTitle("P").getId());
+		assertEquals(project.getId(), Project.getProjectById(project.getId()).getId());
+		assertEquals(2, projectFetches());
+	}
+
+	@Test
+	public void hitsAreServedFromTheCache() {
+		ProjectCache.enable();
+		Project project = build("P");
+		metrics.reset();
+		for (int i = 0; i < 10; i++) {
+			assertEquals(project.getId(), Project.getProjectByTitle("P").getId());
+			assertEquals("P", Project.getProjectById(project.getId()).getTitle());
+		}
+		assertEquals(1, projectFetches());
+	}
+
+	@Test
+	public void missesAreRateLimited() {
+		ProjectCache.enable();
+		build("P");
+		Project.getProjectByTitle("P");
+		metrics.reset();
+		for (int i = 0; i < 100; i++) {
+			assertNull(Project.getProjectByTitle("missing"));
+			assertNull(Project.getProjectById(999));
+		}
+		assertEquals(0, projectFetches());
+	}
+
+	@Test
+	public void missesRefreshOnceTheMinimumIntervalHasPassed() throws InterruptedException {
+		ProjectCache.enable(5, TimeUnit.MINUTES, 100, 50);
+		build("P");
+		metrics.reset();
+		assertNull(Project.getProjectByTitle("missing"));
+		assertNull(Project.getProjectByTitle("missing"));
+		Thread.sleep(100);
+		assertNull(Project.getProjectByTitle("missing"));
+		assertEquals(2, projectFetches());
+	}
+
+	@Test
+	public void firstProjectWinsForDuplicateTitles() {
+		ProjectCache.enable();
+		Project first = build("Dup");
+		build("Dup");
+		assertEquals(first.getId(), Project.getProjectByTitle("Dup").getId());
+		ProjectCache.invalidate();
+		assertEquals(first.getId(), Project.getProjectByTitle("Dup").getId());
+	}
+
+	@Test
+	public void buildingAProjectInvalidatesTheCache() {
+		ProjectCache.enable();
+		build("P");
+		assertNull(Project.getProjectByTitle("New"));
+		Project created = build("New");
+		assertEquals(created.getId(), Project.getProjectByTitle("New").getId());
+	}
+
+	@Test
+	public void invalidateForcesARefresh() {
+		ProjectCache.enable();
+		build("P");
+		Project.getProjectByTitle("P");
+		fake.reset();
+		ProjectCache.invalidate();
+		assertNull(Project.getProjectByTitle("P"));
+		assertTrue(ProjectCache.isEnabled());
+	}
+
+	private static Project build(String title) {
+		return new ProjectBuilder().setTitle(title).setNoSprints(3).setSprintLengthDays(5).build();
+	}
+
+	private long projectFetches() {
+		InMemoryMetricsRecorder.HttpEndpoint endpoint = metrics.getHttpEndpoints().get("GET /projects");
+		return endpoint != null ? endpoint.getLatency().getCount() : 0;
+	}
+
+}
@@ -0,0 +1,114 @@
+package com.estafet.microservices.scrum.lib.data.project;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.estafet.microservices.scrum.lib.data.dataset.DataRow;
+import com.estafet.microservices.scrum.lib.data.dataset.RowSources;
+import com.estafet.microservices.scrum.lib.data.fake.FakeScrumServer;
+import com.estafet.microservices.scrum.lib.data.sprint.Sprint;
+import com.estafet.microservices.scrum.lib.data.story.Story;
+
+public class ProjectCompleteDataSetBuilderTest {
+
+	private FakeScrumServer fake;
+
+	private Project project;
+
+	@Before
+	public void start() {
+		fake = new FakeScrumServer().start();
+		project = new ProjectBuilder().setTitle("P").setNoSprints(3).setSprintLengthDays(5).build();
+	}
+
+	@After
+	public void stop() {
+		fake.stop();
+	}
+
+	@Test
+	public void storiesAreAssignedAndEachSprintCompleted() {
+		List<List<String>> data = new ArrayList<List<String>>();
+		data.add(Arrays.asList("title", "points", "sprint"));
+		data.add(Arrays.asList("S1", "3", sprint(1)));
+		data.add(Arrays.asList("S2", "5", sprint(1)));
+		data.add(Arrays.asList("S3", "2", sprint(2)));
+		data.add(Arrays.asList("S4", "1", sprint(3)));
+		data.add(Arrays.asList("S5", "8", sprint(3)));
+		Project built = new ProjectCompleteDataSetBuilder().setProjectTitle("P").setData(data).setParallelism(4).build();
+		assertEquals(project.getId(), built.getId());
+
+		List<Sprint> sprints = Sprint.getProjectSprints(project.getId());
+		assertEquals(4, sprints.size());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(Integer.valueOf(i + 1), sprints.get(i).getNumber());
+			assertEquals("Completed", sprints.get(i).getStatus());
+		}
+		assertEquals("Active", sprints.get(3).getStatus());
+
+		Map<String, Story> stories = storiesByTitle();
+		assertEquals(5, stories.size());
+		assertSprint(stories, "S1", 1);
+		assertSprint(stories, "S2", 1);
+		assertSprint(stories, "S3", 2);
+		assertSprint(stories, "S4", 3);
+		assertSprint(stories, "S5", 3);
+		for (Story story : stories.values()) {
+			assertEquals("Completed", story.getStatus());
+			assertEquals(1, story.getTasks().size());
+		}
+	}
+
+	@Test
+	public void storiesBeyondOneBatchAreEachCreatedOnce() {
+		List<DataRow> rows = new ArrayList<DataRow>();
+		for (int i = 1; i <= 520; i++) {
+			rows.add(new DataRow(i, Arrays.asList("S" + i, "1", sprint(i <= 260 ? 1 : 2))));
+		}
+		Stream<DataRow> source = rows.stream();
+		new ProjectCompleteDataSetBuilder().setProjectTitle("P").setSource(RowSources.of(source)).setParallelism(8).build();
+
+		List<Story> stories = Story.getProjectStories(project.getId());
+		assertEquals(520, stories.size());
+		Set<String> titles = new HashSet<String>();
+		int[] perSprint = new int[3];
+		for (Story story : stories) {
+			titles.add(story.getTitle());
+			perSprint[story.getSprintId() - project.getId() * 1000]++;
+			assertEquals("Completed", story.getStatus());
+		}
+		assertEquals(520, titles.size());
+		assertEquals(260, perSprint[1]);
+		assertEquals(260, perSprint[2]);
+		assertEquals(3, Sprint.getProjectSprints(project.getId()).size());
+	}
+
+	private String sprint(int number) {
+		return "Sprint#" + (project.getId() * 1000 + number);
+	}
+
+	private Map<String, Story> storiesByTitle() {
+		Map<String, Story> stories = new HashMap<String, Story>();
+		for (Story story : Story.getProjectStories(project.getId())) {
+			stories.put(story.getTitle(), story);
+		}
+		return stories;
+	}
+
+	private void assertSprint(Map<String, Story> stories, String title, int number) {
+		assertEquals(Integer.valueOf(project.getId() * 1000 + number), stories.get(title).getSprintId());
+	}
+
+}
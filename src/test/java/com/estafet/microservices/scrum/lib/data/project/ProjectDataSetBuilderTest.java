@@ -0,0 +1,98 @@
+package com.estafet.microservices.scrum.lib.data.project;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.estafet.microservices.scrum.lib.data.dataset.DataRow;
+import com.estafet.microservices.scrum.lib.data.dataset.DataSetException;
+import com.estafet.microservices.scrum.lib.data.dataset.RowSources;
+import com.estafet.microservices.scrum.lib.data.fake.FakeScrumServer;
+
+public class ProjectDataSetBuilderTest {
+
+	@Test
+	public void validDataSetPassesValidation() {
+		new ProjectDataSetBuilder().setData(data(Arrays.asList("Project 1", "3", "5"))).validate();
+	}
+
+	@Test
+	public void reportsEveryInvalidValue() {
+		try {
+			new ProjectDataSetBuilder()
+					.setData(data(Arrays.asList("Project 1", "0", "5"), Arrays.asList("", "3", "x"), Arrays.asList("Project 3", "3")))
+					.validate();
+			fail();
+		} catch (DataSetException e) {
+			assertEquals(4, e.getErrors().size());
+			assertEquals(1, e.getErrors().get(0).getRow());
+			assertEquals(2, e.getErrors().get(1).getRow());
+			assertEquals(2, e.getErrors().get(2).getRow());
+			assertEquals(3, e.getErrors().get(3).getRow());
+			assertEquals(3, e.getErrors().get(3).getColumn());
+		}
+	}
+
+	@Test
+	public void completeDataSetRequiresASprint() {
+		try {
+			new ProjectCompleteDataSetBuilder()
+					.setProjectTitle("Project 1")
+					.setData(data(Arrays.asList("Story 1", "3", "Sprint #1"), Arrays.asList("Story 2", "2", " ")))
+					.validate();
+			fail();
+		} catch (DataSetException e) {
+			assertEquals(1, e.getErrors().size());
+			assertEquals(2, e.getErrors().get(0).getRow());
+		}
+	}
+
+	@Test
+	public void buildReadsTheSourceOnce() {
+		FakeScrumServer fake = new FakeScrumServer().start();
+		try {
+			AtomicInteger reads = new AtomicInteger();
+			List<List<String>> data = data(Arrays.asList("Project 1", "2", "5"), Arrays.asList("Project 2", "3", "10"));
+			List<Project> projects = new ProjectDataSetBuilder()
+					.setSource(() -> {
+						reads.incrementAndGet();
+						return RowSources.of(data).rows();
+					})
+					.build();
+			assertEquals(1, reads.get());
+			assertEquals(2, projects.size());
+			assertEquals("Project 2", projects.get(1).getTitle());
+		} finally {
+			fake.stop();
+		}
+	}
+
+	@Test
+	public void buildAcceptsAOneShotStream() {
+		FakeScrumServer fake = new FakeScrumServer().start();
+		try {
+			Stream<DataRow> rows = Stream.of(new DataRow(1, Arrays.asList("Project 1", "2", "5")), new DataRow(2, Arrays.asList("Project 2", "3", "10")));
+			List<String> titles = new ArrayList<String>();
+			new ProjectDataSetBuilder().setSource(RowSources.of(rows)).build(project -> titles.add(project.getTitle()));
+			assertEquals(Arrays.asList("Project 1", "Project 2"), titles);
+		} finally {
+			fake.stop();
+		}
+	}
+
+	@SafeVarargs
+	private static List<List<String>> data(List<String>... rows) {
+		List<List<String>> data = new ArrayList<List<String>>();
+		data.add(Arrays.asList("a", "b", "c"));
+		data.addAll(Arrays.asList(rows));
+		return data;
+	}
+
+}
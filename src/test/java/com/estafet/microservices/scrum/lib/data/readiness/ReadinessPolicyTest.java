@@ -0,0 +1,76 @@
+package com.estafet.microservices.scrum.lib.data.readiness;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+public class ReadinessPolicyTest {
+
+	@Test
+	public void delayGrowsGeometricallyUpToTheMaximum() {
+		ReadinessPolicy policy = new ReadinessPolicy().setInitialDelayMillis(10).setMaxDelayMillis(100).setMultiplier(3).setJitter(0);
+		assertEquals(10, policy.delayMillis(1));
+		assertEquals(30, policy.delayMillis(2));
+		assertEquals(90, policy.delayMillis(3));
+		assertEquals(100, policy.delayMillis(4));
+		assertEquals(100, policy.delayMillis(50));
+	}
+
+	@Test
+	public void jitterOnlyShortensTheDelay() {
+		ReadinessPolicy policy = new ReadinessPolicy().setInitialDelayMillis(100).setMaxDelayMillis(100).setJitter(0.5);
+		for (int i = 0; i < 100; i++) {
+			long delay = policy.delayMillis(1);
+			assertTrue(delay >= 50 && delay <= 100);
+		}
+	}
+
+	@Test
+	public void delayIsAtLeastOneMillisecond() {
+		assertEquals(1, new ReadinessPolicy().setInitialDelayMillis(0).setJitter(0).delayMillis(1));
+	}
+
+	@Test
+	public void serverAndConnectionErrorsAreTransient() {
+		assertTrue(ReadinessPolicy.isTransient(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)));
+		assertTrue(ReadinessPolicy.isTransient(new ResourceAccessException("refused")));
+		assertTrue(ReadinessPolicy.isTransient(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)));
+		assertTrue(ReadinessPolicy.isTransient(new HttpClientErrorException(HttpStatus.REQUEST_TIMEOUT)));
+		assertTrue(ReadinessPolicy.isTransient(new RuntimeException(new SQLException("connection reset"))));
+		assertTrue(ReadinessPolicy.isTransient(new RuntimeException(new IOException("broken pipe"))));
+	}
+
+	@Test
+	public void clientAndProgrammingErrorsAreNotTransient() {
+		assertFalse(ReadinessPolicy.isTransient(new HttpClientErrorException(HttpStatus.NOT_FOUND)));
+		assertFalse(ReadinessPolicy.isTransient(new HttpClientErrorException(HttpStatus.BAD_REQUEST)));
+		assertFalse(ReadinessPolicy.isTransient(new IllegalStateException()));
+		assertFalse(ReadinessPolicy.isTransient(new NullPointerException()));
+	}
+
+	@Test
+	public void retriesStopAfterMaxFailures() {
+		ReadinessPolicy policy = new ReadinessPolicy().setMaxFailures(3);
+		RuntimeException failure = new ResourceAccessException("refused");
+		assertTrue(policy.isRetryable(failure, 1));
+		assertTrue(policy.isRetryable(failure, 2));
+		assertFalse(policy.isRetryable(failure, 3));
+	}
+
+	@Test
+	public void retryablePredicateIsConfigurable() {
+		ReadinessPolicy policy = new ReadinessPolicy().setRetryable(e -> e instanceof IllegalStateException);
+		assertTrue(policy.isRetryable(new IllegalStateException(), 1));
+		assertFalse(policy.isRetryable(new ResourceAccessException("refused"), 1));
+	}
+
+}
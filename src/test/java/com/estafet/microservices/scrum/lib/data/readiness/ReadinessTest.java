@@ -0,0 +1,189 @@
+package com.estafet.microservices.scrum.lib.data.readiness;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+public class ReadinessTest {
+
+	private static final ReadinessPolicy SLOW = new ReadinessPolicy().setInitialDelayMillis(10000).setMaxDelayMillis(10000).setJitter(0);
+
+	private final ReadinessPolicy policy = new ReadinessPolicy()
+			.setInitialDelayMillis(1)
+			.setMaxDelayMillis(5)
+			.setTimeoutMillis(2000)
+			.setMaxFailures(3);
+
+	@Test
+	public void awaitReturnsOnceTheCheckPasses() {
+		AtomicInteger polls = new AtomicInteger();
+		Readiness.await("test ready", policy, () -> polls.incrementAndGet() == 3);
+		assertEquals(3, polls.get());
+	}
+
+	@Test
+	public void awaitTimesOut() {
+		try {
+			Readiness.await("test timeout", new ReadinessPolicy().setInitialDelayMillis(1).setMaxDelayMillis(5).setTimeoutMillis(50), () -> false);
+			fail();
+		} catch (ReadinessTimeoutException e) {
+			assertEquals("test timeout", e.getCondition());
+			assertTrue(e.getPolls() > 1);
+		}
+	}
+
+	@Test
+	public void awaitFailsFastOnNonTransientErrors() {
+		AtomicInteger polls = new AtomicInteger();
+		HttpClientErrorException notFound = new HttpClientErrorException(HttpStatus.NOT_FOUND);
+		try {
+			Readiness.await("test not found", policy, () -> {
+				polls.incrementAndGet();
+				throw notFound;
+			});
+			fail();
+		} catch (HttpClientErrorException e) {
+			assertSame(notFound, e);
+			assertEquals(1, polls.get());
+		}
+	}
+
+	@Test
+	public void awaitGivesUpAfterMaxConsecutiveFailures() {
+		AtomicInteger polls = new AtomicInteger();
+		try {
+			Readiness.await("test refused", policy, () -> {
+				polls.incrementAndGet();
+				throw new ResourceAccessException("refused");
+			});
+			fail();
+		} catch (ResourceAccessException e) {
+			assertEquals(3, polls.get());
+		}
+	}
+
+	@Test
+	public void successfulChecksResetTheFailureCount() {
+		AtomicInteger polls = new AtomicInteger();
+		Readiness.await("test flaky", policy, () -> {
+			int poll = polls.incrementAndGet();
+			if (poll % 2 == 1 && poll < 9) {
+				throw new ResourceAccessException("refused");
+			}
+			return poll == 9;
+		});
+		assertEquals(9, polls.get());
+	}
+
+	@Test
+	public void awaitWakesOnSignal() {
+		AtomicBoolean inserted = new AtomicBoolean();
+		CompletableFuture<Void> signal = new CompletableFuture<Void>();
+		CompletableFuture.runAsync(() -> {
+			inserted.set(true);
+			signal.complete(null);
+		});
+		long start = System.nanoTime();
+		Readiness.await("test signal", SLOW, inserted::get, signal);
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+	}
+
+	@Test
+	public void awaitPollsAgainWhenSignalledDuringAPoll() {
+		CompletableFuture<Void> signal = new CompletableFuture<Void>();
+		long start = System.nanoTime();
+		Readiness.await("test signal during poll", SLOW, signalOnFirstPoll(signal), signal);
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+	}
+
+	@Test
+	public void awaitAsyncCompletesOnceTheCheckPasses() {
+		AtomicInteger polls = new AtomicInteger();
+		Readiness.awaitAsync("test async ready", policy, () -> polls.incrementAndGet() == 3).join();
+		assertEquals(3, polls.get());
+	}
+
+	@Test
+	public void awaitAsyncFailsFastOnNonTransientErrors() {
+		AtomicInteger polls = new AtomicInteger();
+		try {
+			Readiness.awaitAsync("test async failure", policy, () -> {
+				polls.incrementAndGet();
+				throw new IllegalStateException();
+			}).join();
+			fail();
+		} catch (CompletionException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+			assertEquals(1, polls.get());
+		}
+	}
+
+	@Test
+	public void awaitAsyncTimesOut() {
+		try {
+			Readiness.awaitAsync("test async timeout", new ReadinessPolicy().setInitialDelayMillis(1).setMaxDelayMillis(5).setTimeoutMillis(50),
+					() -> false).join();
+			fail();
+		} catch (CompletionException e) {
+			assertTrue(e.getCause() instanceof ReadinessTimeoutException);
+		}
+	}
+
+	@Test
+	public void awaitAsyncWakesOnSignal() throws Exception {
+		for (int i = 0; i < 200; i++) {
+			AtomicBoolean inserted = new AtomicBoolean();
+			CompletableFuture<Void> signal = new CompletableFuture<Void>();
+			CompletableFuture<Void> ready = Readiness.awaitAsync("test async signal", SLOW, inserted::get, signal);
+			inserted.set(true);
+			signal.complete(null);
+			ready.get(5, TimeUnit.SECONDS);
+		}
+	}
+
+	@Test
+	public void awaitAsyncPollsAgainWhenSignalledDuringAPoll() throws Exception {
+		CompletableFuture<Void> signal = new CompletableFuture<Void>();
+		Readiness.awaitAsync("test async signal during poll", SLOW, signalOnFirstPoll(signal), signal).get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void timingsAreRecordedPerCondition() {
+		Readiness.await("test timings", policy, () -> true);
+		Readiness.await("test timings", policy, () -> true);
+		ReadinessTimings timings = null;
+		for (ReadinessTimings t : Readiness.getTimings()) {
+			if (t.getCondition().equals("test timings")) {
+				timings = t;
+			}
+		}
+		assertEquals(2, timings.getWaits());
+		assertEquals(0, timings.getTimeouts());
+		assertEquals(2, timings.getPolls());
+	}
+
+	private static BooleanSupplier signalOnFirstPoll(CompletableFuture<Void> signal) {
+		AtomicInteger polls = new AtomicInteger();
+		return () -> {
+			if (polls.incrementAndGet() == 1) {
+				signal.complete(null);
+				return false;
+			}
+			return true;
+		};
+	}
+
+}
@@ -0,0 +1,162 @@
+package com.estafet.microservices.scrum.lib.data.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.estafet.microservices.scrum.lib.data.fake.FakeScrumServer;
+import com.estafet.microservices.scrum.lib.data.project.Project;
+import com.estafet.microservices.scrum.lib.data.story.Story;
+import com.fasterxml.jackson.databind.JsonNode;
+
+@RunWith(Parameterized.class)
+public class HttpTransportTest {
+
+	private static final ParameterizedTypeReference<List<Project>> PROJECT_LIST = new ParameterizedTypeReference<List<Project>>() {
+	};
+
+	private final Supplier<HttpTransport> factory;
+
+	private FakeScrumServer fake;
+
+	private HttpTransport transport;
+
+	public HttpTransportTest(String name, Supplier<HttpTransport> factory) {
+		this.factory = factory;
+	}
+
+	@Parameters(name = "{0}")
+	public static Collection<Object[]> transports() {
+		return Arrays.asList(
+				new Object[] { "blocking", (Supplier<HttpTransport>) BlockingHttpTransport::new },
+				new Object[] { "async", (Supplier<HttpTransport>) AsyncHttpTransport::new });
+	}
+
+	@Before
+	public void start() {
+		fake = new FakeScrumServer().start();
+		transport = factory.get();
+	}
+
+	@After
+	public void stop() {
+		transport.close();
+		fake.stop();
+	}
+
+	@Test
+	public void postAndGet() {
+		Project project = transport.post(url("/project"), newProject("P"), Project.class);
+		Story created = transport.post(url("/project/{id}/story"), newStory("S"), Story.class, project.getId());
+		Story fetched = transport.get(url("/story/{id}"), Story.class, created.getId());
+		assertEquals(created.getId(), fetched.getId());
+		assertEquals("S", fetched.getTitle());
+		assertEquals(project.getId(), fetched.getProjectId());
+	}
+
+	@Test
+	public void getList() {
+		transport.post(url("/project"), newProject("A"), Project.class);
+		transport.post(url("/project"), newProject("B"), Project.class);
+		List<Project> projects = transport.getList(url("/projects"), PROJECT_LIST);
+		assertEquals(2, projects.size());
+		assertEquals("B", projects.get(1).getTitle());
+	}
+
+	@Test
+	public void getStream() {
+		transport.post(url("/project"), newProject("P"), Project.class);
+		JsonNode projects = transport.getStream(url("/projects"), HttpTransportTest::readTree);
+		assertEquals("P", projects.get(0).get("title").asText());
+	}
+
+	@Test
+	public void asyncVariants() {
+		Project project = transport.postAsync(url("/project"), newProject("P"), Project.class).join();
+		Story created = transport.postAsync(url("/project/{id}/story"), newStory("S"), Story.class, project.getId()).join();
+		assertEquals("S", transport.getAsync(url("/story/{id}"), Story.class, created.getId()).join().getTitle());
+		assertEquals(1, transport.getListAsync(url("/projects"), PROJECT_LIST).join().size());
+		assertEquals(1, transport.getStreamAsync(url("/projects"), HttpTransportTest::readTree).join().size());
+	}
+
+	@Test
+	public void concurrentAsyncRequests() {
+		@SuppressWarnings("unchecked")
+		CompletableFuture<Project>[] futures = new CompletableFuture[50];
+		for (int i = 0; i < futures.length; i++) {
+			futures[i] = transport.postAsync(url("/project"), newProject("P" + i), Project.class);
+		}
+		CompletableFuture.allOf(futures).join();
+		assertEquals(50, transport.getList(url("/projects"), PROJECT_LIST).size());
+	}
+
+	@Test
+	public void notFoundThrows() {
+		try {
+			transport.get(url("/story/{id}"), Story.class, 999);
+			fail();
+		} catch (HttpClientErrorException e) {
+			assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+		}
+	}
+
+	@Test
+	public void notFoundCompletesExceptionally() {
+		try {
+			transport.getAsync(url("/story/{id}"), Story.class, 999).join();
+			fail();
+		} catch (CompletionException e) {
+			assertTrue(e.getCause() instanceof HttpClientErrorException);
+			assertEquals(HttpStatus.NOT_FOUND, ((HttpClientErrorException) e.getCause()).getStatusCode());
+		}
+	}
+
+	private String url(String path) {
+		return fake.getUri() + path;
+	}
+
+	private static Map<String, Object> newProject(String title) {
+		Map<String, Object> project = new LinkedHashMap<String, Object>();
+		project.put("title", title);
+		project.put("noSprints", 3);
+		project.put("sprintLengthDays", 5);
+		return project;
+	}
+
+	private static Map<String, Object> newStory(String title) {
+		Map<String, Object> story = new LinkedHashMap<String, Object>();
+		story.put("title", title);
+		story.put("storypoints", 3);
+		return story;
+	}
+
+	private static JsonNode readTree(InputStream in) {
+		try {
+			return RestClient.mapper().readTree(in);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
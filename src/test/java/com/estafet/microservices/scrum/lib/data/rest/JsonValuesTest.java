@@ -0,0 +1,58 @@
+package com.estafet.microservices.scrum.lib.data.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+public class JsonValuesTest {
+
+	@Test
+	public void intValueReadsNumbers() throws IOException {
+		assertEquals(42, intValue("42"));
+		assertEquals(-7, intValue("-7"));
+	}
+
+	@Test
+	public void intValueIsNoValueForNonNumbers() throws IOException {
+		assertEquals(JsonValues.NO_VALUE, intValue("null"));
+		assertEquals(JsonValues.NO_VALUE, intValue("\"42\""));
+	}
+
+	@Test
+	public void floatValueReadsIntegersAndDecimals() throws IOException {
+		assertEquals(3f, floatValue("3"), 0f);
+		assertEquals(12.5f, floatValue("12.5"), 0f);
+		assertEquals(-0.25f, floatValue("-0.25"), 0f);
+		assertEquals(1500f, floatValue("1.5e3"), 0f);
+		assertEquals(0.1f, floatValue("0.1"), 0f);
+		assertEquals(33.333332f, floatValue("33.333333333333336"), 0f);
+	}
+
+	@Test
+	public void floatValueIsNaNForNonNumbers() throws IOException {
+		assertTrue(Float.isNaN(floatValue("null")));
+		assertTrue(Float.isNaN(floatValue("\"1.5\"")));
+	}
+
+	private static int intValue(String json) throws IOException {
+		try (JsonParser parser = new JsonFactory().createParser(json)) {
+			JsonToken token = parser.nextToken();
+			return JsonValues.intValue(parser, token);
+		}
+	}
+
+	private static float floatValue(String json) throws IOException {
+		try (JsonParser parser = new JsonFactory().createParser(json)) {
+			JsonToken token = parser.nextToken();
+			return JsonValues.floatValue(parser, token);
+		}
+	}
+
+}
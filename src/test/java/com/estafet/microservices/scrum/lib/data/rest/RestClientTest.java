@@ -0,0 +1,54 @@
+package com.estafet.microservices.scrum.lib.data.rest;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class RestClientTest {
+
+	@After
+	public void restore() {
+		RestClient.useBlockingTransport();
+		RestClient.configure(new RestClientConfig());
+	}
+
+	@Test
+	public void blockingIsTheDefault() {
+		assertTrue(RestClient.transport() instanceof BlockingHttpTransport);
+	}
+
+	@Test
+	public void resetKeepsTheAsyncTransport() {
+		RestClient.useAsyncTransport();
+		HttpTransport before = RestClient.transport();
+		RestClient.reset();
+		assertTrue(RestClient.transport() instanceof AsyncHttpTransport);
+		assertNotSame(before, RestClient.transport());
+	}
+
+	@Test
+	public void configureKeepsTheAsyncTransport() {
+		RestClient.useAsyncTransport();
+		RestClient.configure(new RestClientConfig().setMaxConnections(10));
+		assertTrue(RestClient.transport() instanceof AsyncHttpTransport);
+	}
+
+	@Test
+	public void resetKeepsACustomTransport() {
+		HttpTransport custom = new BlockingHttpTransport(RestClient.instance());
+		RestClient.setTransport(custom);
+		RestClient.reset();
+		assertSame(custom, RestClient.transport());
+	}
+
+	@Test
+	public void useBlockingTransportSwitchesBack() {
+		RestClient.useAsyncTransport();
+		RestClient.useBlockingTransport();
+		assertTrue(RestClient.transport() instanceof BlockingHttpTransport);
+	}
+
+}
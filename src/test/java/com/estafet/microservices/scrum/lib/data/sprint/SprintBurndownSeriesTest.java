@@ -0,0 +1,86 @@
+package com.estafet.microservices.scrum.lib.data.sprint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.junit.Test;
+
+public class SprintBurndownSeriesTest {
+
+	private static final String BURNDOWN = "{\"id\":7,\"number\":2,\"ignored\":{\"a\":[1,2]},\"sprintDays\":["
+			+ "{\"dayNo\":1,\"hoursTotal\":20,\"idealHours\":20.0,\"sprintDay\":\"2026-01-05\"},"
+			+ "{\"dayNo\":2,\"hoursTotal\":17,\"idealHours\":15.0,\"sprintDay\":\"2026-01-06\"},"
+			+ "{\"dayNo\":3,\"hoursTotal\":null,\"idealHours\":10.0,\"sprintDay\":\"2026-02-30\"},"
+			+ "{\"dayNo\":4,\"hoursTotal\":11,\"idealHours\":5.0,\"sprintDay\":\"not a date\"},"
+			+ "{\"hoursTotal\":null,\"idealHours\":0}]}";
+
+	@Test
+	public void readsColumns() {
+		SprintBurndownSeries series = read(BURNDOWN);
+		assertEquals(7, series.getId());
+		assertEquals(2, series.getNumber());
+		assertEquals("Sprint #2", series.getName());
+		assertEquals(5, series.size());
+		assertEquals(17, series.getHoursTotal(1));
+		assertEquals(15f, series.getIdealHours(1), 0f);
+		assertEquals(LocalDate.of(2026, 1, 6), series.getSprintDay(1));
+	}
+
+	@Test
+	public void missingValuesAreNoValue() {
+		SprintBurndownSeries series = read(BURNDOWN);
+		assertFalse(series.hasHoursTotal(2));
+		assertEquals(SprintBurndownSeries.NO_VALUE, series.getHoursTotal(2));
+		assertNull(series.getSprintDay(2));
+		assertNull(series.getSprintDay(3));
+		assertEquals(5, series.getDayNo(4));
+		assertTrue(Float.isNaN(series.getDeviationFromIdeal(2)));
+	}
+
+	@Test
+	public void analyticsSkipUnrecordedDays() {
+		SprintBurndownSeries series = read(BURNDOWN);
+		assertEquals(3, series.getLastRecordedDay());
+		assertEquals(11, series.getRemainingHours());
+		assertEquals(6f, series.getDeviationFromIdeal(), 0f);
+		assertEquals(6f, series.getMaxDeviationFromIdeal(), 0f);
+		assertEquals(3f, series.getBurnRate(), 0f);
+		assertEquals(8, series.getProjectedCompletionDay());
+		assertFalse(series.isProjectedToComplete());
+	}
+
+	@Test
+	public void emptySeriesHasNoProjection() {
+		SprintBurndownSeries series = read("{\"id\":1,\"number\":1,\"sprintDays\":[]}");
+		assertEquals(0, series.size());
+		assertEquals(-1, series.getLastRecordedDay());
+		assertEquals(SprintBurndownSeries.NO_VALUE, series.getRemainingHours());
+		assertEquals(0f, series.getBurnRate(), 0f);
+		assertEquals(SprintBurndownSeries.NO_VALUE, series.getProjectedCompletionDay());
+		assertFalse(series.isProjectedToComplete());
+	}
+
+	@Test
+	public void growsPastTheInitialCapacity() {
+		StringBuilder json = new StringBuilder("{\"number\":1,\"sprintDays\":[");
+		for (int day = 1; day <= 40; day++) {
+			json.append(day > 1 ? "," : "").append("{\"dayNo\":").append(day).append(",\"hoursTotal\":").append(80 - day * 2).append("}");
+		}
+		SprintBurndownSeries series = read(json.append("]}").toString());
+		assertEquals(40, series.size());
+		assertEquals(0, series.getRemainingHours());
+		assertEquals(40, series.getProjectedCompletionDay());
+		assertTrue(series.isProjectedToComplete());
+	}
+
+	private static SprintBurndownSeries read(String json) {
+		return SprintBurndownSeries.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.estafet.microservices.scrum.lib.data.sprint;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.estafet.microservices.scrum.lib.data.fake.FakeScrumServer;
+import com.estafet.microservices.scrum.lib.data.metrics.InMemoryMetricsRecorder;
+import com.estafet.microservices.scrum.lib.data.metrics.Metrics;
+import com.estafet.microservices.scrum.lib.data.project.Project;
+import com.estafet.microservices.scrum.lib.data.project.ProjectBuilder;
+
+public class SprintDaysTest {
+
+	private FakeScrumServer fake;
+
+	private InMemoryMetricsRecorder metrics;
+
+	private Integer sprintId;
+
+	@Before
+	public void start() {
+		fake = new FakeScrumServer().start();
+		metrics = new InMemoryMetricsRecorder();
+		Metrics.setRecorder(metrics);
+		SprintDays.invalidate();
+		Project project = new ProjectBuilder().setTitle("P").setNoSprints(3).setSprintLengthDays(5).build();
+		sprintId = project.getActiveSprint().getId();
+	}
+
+	@After
+	public void stop() {
+		SprintDays.invalidate();
+		Metrics.disable();
+		fake.stop();
+	}
+
+	@Test
+	public void daysAreFetchedOncePerSprint() {
+		List<String> days = SprintDays.getDays(sprintId);
+		assertEquals(5, days.size());
+		assertEquals("2017-10-02", days.get(0));
+		assertEquals("2017-10-06", SprintDays.getLastDay(sprintId));
+		SprintDays.getDays(sprintId);
+		assertEquals(1, dayFetches());
+	}
+
+	@Test
+	public void invalidateFetchesAgain() {
+		SprintDays.getDays(sprintId);
+		SprintDays.invalidate();
+		SprintDays.getDays(sprintId);
+		assertEquals(2, dayFetches());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nullSprintIdIsRejected() {
+		SprintDays.getDays(null);
+	}
+
+	private long dayFetches() {
+		InMemoryMetricsRecorder.HttpEndpoint endpoint = metrics.getHttpEndpoints().get("GET /sprint/{id}/days");
+		return endpoint != null ? endpoint.getLatency().getCount() : 0;
+	}
+
+}
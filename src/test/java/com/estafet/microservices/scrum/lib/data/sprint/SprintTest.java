@@ -0,0 +1,102 @@
+package com.estafet.microservices.scrum.lib.data.sprint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.estafet.microservices.scrum.lib.data.fake.FakeScrumServer;
+import com.estafet.microservices.scrum.lib.data.metrics.InMemoryMetricsRecorder;
+import com.estafet.microservices.scrum.lib.data.metrics.Metrics;
+import com.estafet.microservices.scrum.lib.data.project.Project;
+import com.estafet.microservices.scrum.lib.data.project.ProjectBuilder;
+import com.estafet.microservices.scrum.lib.data.readiness.Readiness;
+import com.estafet.microservices.scrum.lib.data.readiness.ReadinessPolicy;
+import com.estafet.microservices.scrum.lib.data.readiness.ReadinessTimeoutException;
+import com.estafet.microservices.scrum.lib.data.story.Story;
+import com.estafet.microservices.scrum.lib.data.story.StoryBuilder;
+import com.estafet.microservices.scrum.lib.data.task.Task;
+import com.estafet.microservices.scrum.lib.data.task.TaskBuilder;
+
+public class SprintTest {
+
+	private FakeScrumServer fake;
+
+	private Project project;
+
+	@Before
+	public void start() {
+		fake = new FakeScrumServer().start();
+		project = new ProjectBuilder().setTitle("P").setNoSprints(3).setSprintLengthDays(5).build();
+	}
+
+	@After
+	public void stop() {
+		fake.stop();
+	}
+
+	@Test
+	public void completeWithReportCompletesEveryTask() {
+		Sprint sprint = project.getActiveSprint();
+		List<Story> stories = new ArrayList<Story>();
+		for (int i = 0; i < 6; i++) {
+			Story story = new StoryBuilder().setProjectId(project.getId()).setTitle("S" + i).setStorypoints(2).build();
+			for (int t = 0; t < 3; t++) {
+				new TaskBuilder().setStoryId(story.getId()).setTitle("T" + t).setInitialHours(4).build();
+			}
+			stories.add(story);
+		}
+		Story.addToSprint(stories, sprint.getId());
+		SprintCompletionReport report = sprint.completeWithReport(4);
+		assertEquals(sprint.getId(), report.getSprintId());
+		assertEquals(6, report.getStories());
+		assertEquals(Integer.valueOf(2), report.getNextSprint().getNumber());
+		for (Story story : stories) {
+			Story completed = Story.getStory(story.getId());
+			assertEquals("Completed", completed.getStatus());
+			for (Task task : completed.getTasks()) {
+				assertEquals("Completed", task.getStatus());
+			}
+		}
+		assertEquals("Completed", Sprint.getSprint(sprint.getId()).getStatus());
+	}
+
+	@Test
+	public void completionPollsOnlyTheSprintList() {
+		Sprint sprint = project.getActiveSprint();
+		Story story = new StoryBuilder().setProjectId(project.getId()).setTitle("S").setStorypoints(2).build();
+		new TaskBuilder().setStoryId(story.getId()).setTitle("T").setInitialHours(4).build();
+		story.addToSprint(sprint.getId());
+		InMemoryMetricsRecorder metrics = new InMemoryMetricsRecorder();
+		Metrics.setRecorder(metrics);
+		try {
+			assertEquals(Integer.valueOf(2), sprint.completeWithReport().getNextSprint().getNumber());
+			assertNull(metrics.getHttpEndpoints().get("GET /sprint/{id}"));
+			assertEquals(1, metrics.getHttpEndpoints().get("GET /project/{id}/sprints").getLatency().getCount());
+		} finally {
+			Metrics.disable();
+		}
+	}
+
+	@Test
+	public void emptySprintWaitsForStories() {
+		Sprint sprint = project.getActiveSprint();
+		ReadinessPolicy previous = Readiness.getPolicy("sprint completed");
+		Readiness.setPolicy("sprint completed", new ReadinessPolicy().setInitialDelayMillis(10).setTimeoutMillis(200));
+		try {
+			sprint.completeWithReport();
+			fail();
+		} catch (ReadinessTimeoutException e) {
+			assertEquals("Active", Sprint.getSprint(sprint.getId()).getStatus());
+		} finally {
+			Readiness.setPolicy("sprint completed", previous);
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.estafet.microservices.scrum.lib.data.story;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.estafet.microservices.scrum.lib.data.fake.FakeScrumServer;
+import com.estafet.microservices.scrum.lib.data.metrics.InMemoryMetricsRecorder;
+import com.estafet.microservices.scrum.lib.data.metrics.Metrics;
+import com.estafet.microservices.scrum.lib.data.project.Project;
+import com.estafet.microservices.scrum.lib.data.project.ProjectBuilder;
+
+public class StoryBuilderTest {
+
+	private FakeScrumServer fake;
+
+	private Project project;
+
+	@Before
+	public void start() {
+		fake = new FakeScrumServer().setConsistencyLagMillis(50).start();
+		project = new ProjectBuilder().setTitle("P").setNoSprints(3).setSprintLengthDays(5).build();
+	}
+
+	@After
+	public void stop() {
+		Metrics.disable();
+		fake.stop();
+	}
+
+	@Test
+	public void buildAllOfNothingBuildsNothing() {
+		assertTrue(StoryBuilder.buildAll(Collections.<StoryBuilder>emptyList()).isEmpty());
+	}
+
+	@Test
+	public void buildAllWaitsForEveryStory() {
+		List<StoryBuilder> builders = new ArrayList<StoryBuilder>();
+		for (int i = 0; i < 20; i++) {
+			builders.add(new StoryBuilder().setProjectId(project.getId()).setTitle("S" + i).setStorypoints(i));
+		}
+		List<Story> stories = StoryBuilder.buildAll(builders);
+		assertEquals(20, stories.size());
+		for (int i = 0; i < 20; i++) {
+			assertEquals("S" + i, stories.get(i).getTitle());
+			assertTrue(fake.exists("task-api", "story", "story_id", stories.get(i).getId()));
+		}
+	}
+
+	@Test
+	public void addToSprintOfNothingSendsNothing() {
+		InMemoryMetricsRecorder metrics = new InMemoryMetricsRecorder();
+		Metrics.setRecorder(metrics);
+		Story.addToSprint(Collections.<Story>emptyList(), project.getActiveSprint().getId());
+		assertNull(metrics.getHttpEndpoints().get("POST /add-story-to-sprint"));
+	}
+
+	@Test
+	public void addToSprintWaitsForEveryStory() {
+		List<StoryBuilder> builders = new ArrayList<StoryBuilder>();
+		for (int i = 0; i < 10; i++) {
+			builders.add(new StoryBuilder().setProjectId(project.getId()).setTitle("S" + i).setStorypoints(1));
+		}
+		List<Story> stories = StoryBuilder.buildAll(builders);
+		Integer sprintId = project.getActiveSprint().getId();
+		Story.addToSprint(stories, sprintId);
+		for (Story story : stories) {
+			assertEquals(sprintId, story.getSprintId());
+			assertTrue(fake.exists("sprint-api", "story", "story_id", story.getId()));
+			assertEquals(sprintId, Story.getStory(story.getId()).getSprintId());
+		}
+	}
+
+}
@@ -0,0 +1,206 @@
+package com.estafet.microservices.scrum.lib.data.story;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.estafet.microservices.scrum.lib.data.dataset.DataSetError;
+import com.estafet.microservices.scrum.lib.data.dataset.DataSetException;
+import com.estafet.microservices.scrum.lib.data.dataset.RowSources;
+import com.estafet.microservices.scrum.lib.data.fake.FakeScrumServer;
+import com.estafet.microservices.scrum.lib.data.project.Project;
+import com.estafet.microservices.scrum.lib.data.project.ProjectBuilder;
+import com.estafet.microservices.scrum.lib.data.rest.BlockingHttpTransport;
+import com.estafet.microservices.scrum.lib.data.rest.RestClient;
+
+public class StoryDataSetBuilderTest {
+
+	@Test
+	public void validDataSetPassesValidation() {
+		new StoryDataSetBuilder()
+				.setProjectId(1)
+				.setData(data(Arrays.asList("Story 1", "3", "Task#1 [3 hours], Task#2 [5 hours]"), Arrays.asList("Story 2", "0", "")))
+				.validate();
+	}
+
+	@Test
+	public void missingTaskColumnMeansNoTasks() {
+		new StoryDataSetBuilder().setProjectId(1).setData(data(Arrays.asList("Story 1", "3"))).validate();
+	}
+
+	@Test
+	public void nonMatchingTaskSpecIsAnError() {
+		List<DataSetError> errors = errors(new StoryDataSetBuilder()
+				.setProjectId(1)
+				.setData(data(Arrays.asList("Story 1", "3", "Task#1 [3 hours], Task#2 (5 hours)"))));
+		assertEquals(1, errors.size());
+		assertEquals(1, errors.get(0).getRow());
+		assertEquals(3, errors.get(0).getColumn());
+		assertEquals("Task#2 (5 hours)", errors.get(0).getValue());
+	}
+
+	@Test
+	public void reportsEveryInvalidValue() {
+		List<DataSetError> errors = errors(new StoryDataSetBuilder()
+				.setProjectId(1)
+				.setData(data(
+						Arrays.asList("", "3", "Task#1 [3 hours]"),
+						Arrays.asList("Story 2", "-1", ""),
+						Arrays.asList("Story 3", "three", "Task#1"))));
+		assertEquals(4, errors.size());
+		assertEquals(1, errors.get(0).getRow());
+		assertEquals(1, errors.get(0).getColumn());
+		assertEquals(2, errors.get(1).getRow());
+		assertEquals(2, errors.get(1).getColumn());
+		assertEquals(3, errors.get(2).getRow());
+		assertEquals(2, errors.get(2).getColumn());
+		assertEquals(3, errors.get(3).getRow());
+		assertEquals(3, errors.get(3).getColumn());
+	}
+
+	@Test
+	public void buildRejectsAnInvalidDataSetBeforeCreatingAnything() {
+		try {
+			new StoryDataSetBuilder()
+					.setProjectId(1)
+					.setData(data(Arrays.asList("Story 1", "3", "Task#1 [3 hours]"), Arrays.asList("Story 2", "3", "bad")))
+					.build();
+			fail();
+		} catch (DataSetException e) {
+			assertEquals(1, e.getErrors().size());
+			assertEquals(2, e.getErrors().get(0).getRow());
+		}
+	}
+
+	@Test
+	public void buildReadsTheSourceOnce() {
+		FakeScrumServer fake = new FakeScrumServer().start();
+		try {
+			Project project = new ProjectBuilder().setTitle("P").setNoSprints(2).setSprintLengthDays(5).build();
+			AtomicInteger reads = new AtomicInteger();
+			List<List<String>> data = data(Arrays.asList("Story 1", "3", "Task#1 [3 hours]"), Arrays.asList("Story 2", "5", ""));
+			List<Story> stories = new StoryDataSetBuilder()
+					.setProjectId(project.getId())
+					.setSource(() -> {
+						reads.incrementAndGet();
+						return RowSources.of(data).rows();
+					})
+					.build();
+			assertEquals(1, reads.get());
+			assertEquals(2, stories.size());
+			assertEquals("Story 1", stories.get(0).getTitle());
+			assertEquals("Story 2", stories.get(1).getTitle());
+		} finally {
+			fake.stop();
+		}
+	}
+
+	@Test
+	public void parallelBuildConsumesStoriesInRowOrder() {
+		FakeScrumServer fake = new FakeScrumServer().setLatencyMillis(5).setConsistencyLagMillis(20).start();
+		try {
+			Project project = new ProjectBuilder().setTitle("P").setNoSprints(2).setSprintLengthDays(5).build();
+			List<String> titles = new ArrayList<String>();
+			new StoryDataSetBuilder()
+					.setProjectId(project.getId())
+					.setData(stories(30, 0))
+					.setParallelism(8)
+					.build(story -> titles.add(story.getTitle()));
+			assertEquals(titles(30), titles);
+			for (Story story : Story.getProjectStories(project.getId())) {
+				assertEquals(2, story.getTasks().size());
+			}
+		} finally {
+			fake.stop();
+		}
+	}
+
+	@Test
+	public void parallelBuildStopsAfterAFailedRow() {
+		FakeScrumServer fake = new FakeScrumServer().setLatencyMillis(5).setConsistencyLagMillis(20).start();
+		RestClient.setTransport(new RejectingTransport("Bad"));
+		try {
+			Project project = new ProjectBuilder().setTitle("P").setNoSprints(2).setSprintLengthDays(5).build();
+			List<String> titles = new ArrayList<String>();
+			try {
+				new StoryDataSetBuilder()
+						.setProjectId(project.getId())
+						.setData(stories(40, 3))
+						.setParallelism(4)
+						.build(story -> titles.add(story.getTitle()));
+				fail();
+			} catch (RuntimeException e) {
+				assertEquals("Failed to build story row 3 'Bad'", e.getMessage());
+			}
+			assertEquals(titles(2), titles);
+			assertTrue(Story.getProjectStories(project.getId()).size() < 40);
+		} finally {
+			RestClient.useBlockingTransport();
+			fake.stop();
+		}
+	}
+
+	private static List<List<String>> stories(int count, int badRow) {
+		List<List<String>> data = new ArrayList<List<String>>();
+		data.add(Arrays.asList("title", "points", "tasks"));
+		for (int i = 1; i <= count; i++) {
+			data.add(Arrays.asList(i == badRow ? "Bad" : "S" + i, "3", "Task#1 [3 hours], Task#2 [5 hours]"));
+		}
+		return data;
+	}
+
+	private static List<String> titles(int count) {
+		List<String> titles = new ArrayList<String>();
+		for (int i = 1; i <= count; i++) {
+			titles.add("S" + i);
+		}
+		return titles;
+	}
+
+	@SafeVarargs
+	private static List<List<String>> data(List<String>... rows) {
+		List<List<String>> data = new ArrayList<List<String>>();
+		data.add(Arrays.asList("title", "points", "tasks"));
+		data.addAll(Arrays.asList(rows));
+		return data;
+	}
+
+	private static class RejectingTransport extends BlockingHttpTransport {
+
+		private final String title;
+
+		RejectingTransport(String title) {
+			this.title = title;
+		}
+
+		@Override
+		public <T> CompletableFuture<T> postAsync(String url, Object body, Class<T> type, Object... uriVariables) {
+			if (body instanceof Story && title.equals(((Story) body).getTitle())) {
+				CompletableFuture<T> rejected = new CompletableFuture<T>();
+				rejected.completeExceptionally(new IllegalStateException("rejected " + title));
+				return rejected;
+			}
+			return super.postAsync(url, body, type, uriVariables);
+		}
+
+	}
+
+	private static List<DataSetError> errors(StoryDataSetBuilder builder) {
+		try {
+			builder.validate();
+			fail();
+			return null;
+		} catch (DataSetException e) {
+			return e.getErrors();
+		}
+	}
+
+}
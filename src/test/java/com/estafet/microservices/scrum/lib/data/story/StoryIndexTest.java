@@ -0,0 +1,109 @@
+package com.estafet.microservices.scrum.lib.data.story;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.estafet.microservices.scrum.lib.data.fake.FakeScrumServer;
+import com.estafet.microservices.scrum.lib.data.metrics.InMemoryMetricsRecorder;
+import com.estafet.microservices.scrum.lib.data.metrics.Metrics;
+import com.estafet.microservices.scrum.lib.data.project.Project;
+import com.estafet.microservices.scrum.lib.data.project.ProjectBuilder;
+import com.estafet.microservices.scrum.lib.data.task.TaskBuilder;
+
+public class StoryIndexTest {
+
+	private FakeScrumServer fake;
+
+	private InMemoryMetricsRecorder metrics;
+
+	private Project project;
+
+	private Integer sprintId;
+
+	@Before
+	public void start() {
+		fake = new FakeScrumServer().start();
+		metrics = new InMemoryMetricsRecorder();
+		Metrics.setRecorder(metrics);
+		StoryIndex.enable();
+		project = new ProjectBuilder().setTitle("P").setNoSprints(3).setSprintLengthDays(5).build();
+		sprintId = project.getActiveSprint().getId();
+	}
+
+	@After
+	public void stop() {
+		StoryIndex.disable();
+		Metrics.disable();
+		fake.stop();
+	}
+
+	@Test
+	public void loadsAProjectOnce() {
+		Story story = build("S");
+		story.addToSprint(sprintId);
+		metrics.reset();
+		StoryIndex index = StoryIndex.instance();
+		assertEquals(story.getId(), index.getStory(project.getId(), story.getId()).getId());
+		assertEquals(1, index.getSprintStories(project.getId(), sprintId).size());
+		assertEquals(1, index.getSprintStories(project.getId(), sprintId).size());
+		assertEquals(1, projectStoryFetches());
+	}
+
+	@Test
+	public void tracksStoriesBuiltAfterLoading() {
+		StoryIndex index = StoryIndex.instance();
+		assertTrue(index.getSprintStories(project.getId(), sprintId).isEmpty());
+		Story story = build("S");
+		assertEquals("S", index.getStory(project.getId(), story.getId()).getTitle());
+		story.addToSprint(sprintId);
+		assertEquals(story.getId(), index.getSprintStories(project.getId(), sprintId).get(0).getId());
+	}
+
+	@Test
+	public void tracksStoriesAddedInBatches() {
+		StoryIndex index = StoryIndex.instance();
+		index.refresh(project.getId());
+		Story first = build("A");
+		Story second = build("B");
+		Story.addToSprint(Arrays.asList(first, second), sprintId);
+		assertEquals(2, index.getSprintStories(project.getId(), sprintId).size());
+	}
+
+	@Test
+	public void marksCompletedStories() {
+		StoryIndex index = StoryIndex.instance();
+		Story story = build("S");
+		story.addToSprint(sprintId);
+		index.refresh(project.getId());
+		new TaskBuilder().setStoryId(story.getId()).build();
+		Story.getStory(story.getId()).complete();
+		assertEquals("Completed", index.getStory(project.getId(), story.getId()).getStatus());
+	}
+
+	@Test
+	public void invalidateReloads() {
+		StoryIndex index = StoryIndex.instance();
+		Story story = build("S");
+		assertEquals(story.getId(), index.getStory(project.getId(), story.getId()).getId());
+		fake.reset();
+		StoryIndex.invalidate();
+		assertNull(index.getStory(project.getId(), story.getId()));
+	}
+
+	private Story build(String title) {
+		return new StoryBuilder().setProjectId(project.getId()).setTitle(title).setStorypoints(3).build();
+	}
+
+	private long projectStoryFetches() {
+		InMemoryMetricsRecorder.HttpEndpoint endpoint = metrics.getHttpEndpoints().get("GET /project/{id}/stories");
+		return endpoint != null ? endpoint.getLatency().getCount() : 0;
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.estafet.microservices.scrum.lib.data.story;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.estafet.microservices.scrum.lib.data.dataset.DataSetError;
+import com.estafet.microservices.scrum.lib.data.dataset.DataSetErrors;
+import com.estafet.microservices.scrum.lib.data.dataset.DataSetException;
+
+public class TaskSpecTest {
+
+	@Test
+	public void parsesTitlesAndHours() {
+		List<TaskSpec> specs = TaskSpec.parseAll("Task#1 [3 hours], Task#2 [15 hours]");
+		assertEquals(2, specs.size());
+		assertEquals("Task#1", specs.get(0).getTitle());
+		assertEquals(3, specs.get(0).getInitialHours());
+		assertEquals("Task#2", specs.get(1).getTitle());
+		assertEquals(15, specs.get(1).getInitialHours());
+	}
+
+	@Test
+	public void toleratesExtraWhitespace() {
+		List<TaskSpec> specs = TaskSpec.parseAll("  Task#7   [ 4  hours ]  ,Task#8 [1 hours]");
+		assertEquals(2, specs.size());
+		assertEquals("Task#7", specs.get(0).getTitle());
+		assertEquals(4, specs.get(0).getInitialHours());
+		assertEquals("Task#8", specs.get(1).getTitle());
+	}
+
+	@Test
+	public void emptyValueHasNoTasks() {
+		assertTrue(TaskSpec.parseAll("").isEmpty());
+		assertTrue(TaskSpec.parseAll("  ,  ").isEmpty());
+	}
+
+	@Test
+	public void nonMatchingSpecIsAnError() {
+		DataSetErrors errors = new DataSetErrors();
+		List<TaskSpec> specs = TaskSpec.parseAll("Task#1 [3 hours], Task 2 [5 hours]", 4, 2, errors);
+		assertEquals(1, specs.size());
+		assertEquals(1, errors.getErrors().size());
+		DataSetError error = errors.getErrors().get(0);
+		assertEquals(4, error.getRow());
+		assertEquals(3, error.getColumn());
+		assertEquals("Task 2 [5 hours]", error.getValue());
+	}
+
+	@Test
+	public void rejectsMalformedSpecs() {
+		String[] malformed = { "Task#", "Task#1", "Task#1 3 hours", "Task#1 [hours]", "Task#1 [3 days]", "Task#1 [3 hours",
+				"Task#1 [3 hours] extra", "Task#1[3 hours]", "Task#1 [3hours]", "Task#1 [9999999999 hours]" };
+		for (String spec : malformed) {
+			DataSetErrors errors = new DataSetErrors();
+			TaskSpec.parseAll(spec, 1, 2, errors);
+			assertEquals(spec, 1, errors.getErrors().size());
+		}
+	}
+
+	@Test
+	public void publicParseThrowsOnMalformedSpecs() {
+		try {
+			TaskSpec.parseAll("Task#1 [3 hours], nonsense");
+			fail();
+		} catch (DataSetException e) {
+			assertEquals(1, e.getErrors().size());
+			assertEquals("nonsense", e.getErrors().get(0).getValue());
+		}
+	}
+
+	@Test
+	public void toStringRoundTrips() {
+		TaskSpec spec = TaskSpec.parseAll("Task#3 [6 hours]").get(0);
+		assertEquals("Task#3 [6 hours]", spec.toString());
+		assertEquals(6, TaskSpec.parseAll(spec.toString()).get(0).getInitialHours());
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.estafet.microservices.scrum.lib.data.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TracerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Trace trace;
+
+	@After
+	public void end() throws Exception {
+		Tracer.end(trace, folder.getRoot().toPath().resolve("cleanup.json"));
+	}
+
+	@Test
+	public void spanIsNoopWithoutActiveTrace() {
+		assertFalse(Tracer.isActive());
+		assertSame(Span.NOOP, Tracer.span("outside"));
+		assertSame(Span.NOOP, Tracer.span("story ", 1).arg("id", 1));
+	}
+
+	@Test
+	public void nestedBeginReturnsNull() {
+		trace = Tracer.begin("outer");
+		assertNotNull(trace);
+		assertTrue(Tracer.isActive());
+		assertNull(Tracer.begin("inner"));
+	}
+
+	@Test
+	public void runClosesSpanWhenBodyThrows() {
+		trace = Tracer.begin("t");
+		try {
+			Tracer.span("failing").run(() -> {
+				throw new IllegalStateException("boom");
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("boom", e.getMessage());
+		}
+		assertEquals(1, trace.getSpanCount());
+	}
+
+	@Test
+	public void callReturnsValueAndClosesSpan() {
+		trace = Tracer.begin("t");
+		assertEquals("x", Tracer.span("calling").call(() -> "x"));
+		try {
+			Tracer.span("failing").call(() -> {
+				throw new IllegalStateException("boom");
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals(2, trace.getSpanCount());
+		}
+	}
+
+	@Test
+	public void endWritesTraceFile() throws Exception {
+		trace = Tracer.begin("load");
+		Tracer.span("story ", 7).arg("tasks", 2).run(() -> {
+		});
+		Path file = folder.getRoot().toPath().resolve("traces").resolve("load.json");
+		Tracer.end(trace, file);
+		trace = null;
+		assertFalse(Tracer.isActive());
+		String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+		assertTrue(json.contains("\"traceEvents\""));
+		assertTrue(json.contains("\"name\":\"load\""));
+		assertTrue(json.contains("\"name\":\"story 7\""));
+		assertTrue(json.contains("\"tasks\":2"));
+	}
+
+	@Test
+	public void endIgnoresTraceThatIsNotActive() throws Exception {
+		trace = Tracer.begin("t");
+		Path file = folder.getRoot().toPath().resolve("other.json");
+		Tracer.end(null, file);
+		assertTrue(Tracer.isActive());
+		assertFalse(Files.exists(file));
+	}
+
+}